@@ -0,0 +1,133 @@
+package net.wuxianjie.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import net.wuxianjie.springbootcore.rest.JsonConfig;
+import net.wuxianjie.springbootcore.security.AuthenticationUtils;
+import net.wuxianjie.springbootcore.util.JwtCodec;
+import net.wuxianjie.web.operationlog.OperationLog;
+import net.wuxianjie.web.security.CaffeineTokenStore;
+import net.wuxianjie.web.security.RoleOfMenu;
+import net.wuxianjie.web.security.TokenAttributes;
+import net.wuxianjie.web.security.TokenCacheConfig;
+import net.wuxianjie.web.security.TokenServiceImpl;
+import net.wuxianjie.web.security.TokenStorePropertiesConfig;
+import net.wuxianjie.web.user.CustomUserDetails;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基准测试的固定测试数据，保证每次运行的输入完全相同，结果可相互比较。
+ *
+ * @author 吴仙杰
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class BenchmarkFixtures {
+
+  /**
+   * 固定的 JWT 签名密钥，仅用于基准测试。
+   */
+  static final String SIGNING_KEY = "kbeiTd5Q7rQr7ZLsrv0OhEwSBf5teTqlQWNV5Az+vQ0=";
+
+  /**
+   * 基准测试进程的 JVM 参数，指定日志配置文件 {@code logback-benchmarks.xml}。
+   */
+  static final String LOGBACK_CONFIG = "-Dlogback.configurationFile=logback-benchmarks.xml";
+
+  static final String USERNAME = "admin";
+
+  static final String MENUS = "sys";
+
+  /**
+   * 与应用中相同配置的 {@link ObjectMapper}。
+   *
+   * @return {@link ObjectMapper}
+   */
+  static ObjectMapper objectMapper() {
+    Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+    new JsonConfig().jsonCustomizer().customize(builder);
+    return builder.build();
+  }
+
+  /**
+   * JWT 有效载荷，与登录时生成的 Access Token 相同。
+   *
+   * @return JWT 有效载荷
+   */
+  static Map<String, Object> accessTokenPayload() {
+    Map<String, Object> payload = new HashMap<>();
+    payload.put(TokenAttributes.USERNAME_KEY, USERNAME);
+    payload.put(TokenAttributes.MENU_KEY, MENUS);
+    payload.put(TokenAttributes.TOKEN_TYPE_KEY, TokenAttributes.ACCESS_TOKEN_TYPE_VALUE);
+    return payload;
+  }
+
+  /**
+   * 已登录用户的 Token 业务逻辑，使用与应用中相同配置的缓存。
+   *
+   * @param jwtCodec                  JWT 签名及验证器
+   * @param accessToken               已登录用户的 Access Token
+   * @param verifiedTokenCacheEnabled 是否启用已验证 Token 缓存，false 时每次请求都验证签名，即引入该缓存之前的行为
+   * @return {@link TokenServiceImpl}
+   */
+  static TokenServiceImpl loggedInTokenService(JwtCodec jwtCodec, String accessToken, boolean verifiedTokenCacheEnabled) {
+    TokenCacheConfig cacheConfig = new TokenCacheConfig();
+    CaffeineTokenStore tokenStore = new CaffeineTokenStore(cacheConfig.tokenCache(new TokenStorePropertiesConfig()));
+
+    CustomUserDetails userDetails = new CustomUserDetails(
+      2,
+      USERNAME,
+      MENUS,
+      accessToken,
+      null,
+      AuthenticationUtils.toAuthorities(MENUS),
+      RoleOfMenu.toEffectiveMask(MENUS)
+    );
+    tokenStore.put(userDetails);
+
+    return new TokenServiceImpl(
+      jwtCodec,
+      new BCryptPasswordEncoder(),
+      tokenStore,
+      verifiedTokenCacheEnabled
+        ? cacheConfig.verifiedTokenCache()
+        // 容量为 0 且同步驱逐，写入的缓存会被立即移除
+        : Caffeine.newBuilder().maximumSize(0).executor(Runnable::run).build(),
+      null
+    );
+  }
+
+  /**
+   * 一页典型的操作日志列表数据。
+   *
+   * @param size 条数
+   * @return 操作日志列表
+   */
+  static List<OperationLog> operationLogs(int size) {
+    List<OperationLog> logs = new ArrayList<>(size);
+    LocalDateTime time = LocalDateTime.of(2022, 6, 1, 10, 0, 0);
+    for (int i = 0; i < size; i++) {
+      OperationLog log = new OperationLog();
+      log.setLogId(i + 1);
+      log.setOperationTime(time.plusSeconds(i));
+      log.setUserId(2);
+      log.setUsername(USERNAME);
+      log.setRequestIp("192.168.1." + (i % 255));
+      log.setRequestUri("/api/v1/user/update/" + i);
+      log.setMethodName("net.wuxianjie.web.user.UserController.updateUser");
+      log.setMethodMessage("修改用户");
+      log.setParameterJson("{\"userId\":" + i + ",\"query\":{\"enabled\":1,\"menus\":\"user,login_log\"}}");
+      log.setReturnJson("{\"message\":\"修改用户成功\"}");
+      logs.add(log);
+    }
+    return logs;
+  }
+}
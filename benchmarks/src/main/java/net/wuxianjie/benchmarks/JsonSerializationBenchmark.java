@@ -0,0 +1,48 @@
+package net.wuxianjie.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.wuxianjie.web.operationlog.OperationLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 应用中 JSON 序列化及反序列化（包含字符串去除首尾空白）的基准测试。
+ *
+ * @author 吴仙杰
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFixtures.LOGBACK_CONFIG)
+public class JsonSerializationBenchmark {
+
+  private static final TypeReference<List<OperationLog>> LOGS_TYPE = new TypeReference<>() {
+  };
+
+  private ObjectMapper objectMapper;
+  private List<OperationLog> logs;
+  private String json;
+
+  @Setup
+  public void setup() throws JsonProcessingException {
+    objectMapper = BenchmarkFixtures.objectMapper();
+    logs = BenchmarkFixtures.operationLogs(20);
+    json = objectMapper.writeValueAsString(logs);
+  }
+
+  @Benchmark
+  public String serialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsString(logs);
+  }
+
+  @Benchmark
+  public List<OperationLog> deserialize() throws JsonProcessingException {
+    return objectMapper.readValue(json, LOGS_TYPE);
+  }
+}
@@ -0,0 +1,54 @@
+package net.wuxianjie.benchmarks;
+
+import net.wuxianjie.springbootcore.util.JwtCodec;
+import net.wuxianjie.springbootcore.util.JwtUtils;
+import net.wuxianjie.web.security.TokenAttributes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 签名及验证的基准测试，每个已鉴权请求都需执行一次验证。
+ *
+ * @author 吴仙杰
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFixtures.LOGBACK_CONFIG)
+public class JwtBenchmark {
+
+  private JwtCodec jwtCodec;
+  private Map<String, Object> payload;
+  private String jwt;
+
+  @Setup
+  public void setup() {
+    jwtCodec = new JwtCodec(BenchmarkFixtures.SIGNING_KEY);
+    payload = BenchmarkFixtures.accessTokenPayload();
+    jwt = jwtCodec.createJwt(payload, TokenAttributes.EXPIRES_IN_SECONDS_VALUE);
+  }
+
+  @Benchmark
+  public String createJwt() {
+    return JwtUtils.createJwt(BenchmarkFixtures.SIGNING_KEY, payload, TokenAttributes.EXPIRES_IN_SECONDS_VALUE);
+  }
+
+  @Benchmark
+  public Map<String, Object> verifyJwt() {
+    return JwtUtils.verifyJwt(BenchmarkFixtures.SIGNING_KEY, jwt);
+  }
+
+  @Benchmark
+  public String createJwtWithCodec() {
+    return jwtCodec.createJwt(payload, TokenAttributes.EXPIRES_IN_SECONDS_VALUE);
+  }
+
+  @Benchmark
+  public Map<String, Object> verifyJwtWithCodec() {
+    return jwtCodec.verifyJwt(jwt);
+  }
+}
@@ -0,0 +1,129 @@
+package net.wuxianjie.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 请求线程输出一条审计日志的耗时：比较同步写入文件与经异步队列写入文件（与 logback-spring.xml 中
+ * {@code ASYNC_AUDIT_FILE} 相同的配置，队列将满时不丢弃而是阻塞请求线程）。
+ *
+ * <p>
+ * 可通过 {@code -p writeLatencyMicros=1000} 模拟慢速磁盘，每次写入文件前等待指定微秒数，例如：
+ * {@code java -jar benchmarks/target/benchmarks.jar LoggingBenchmark -p writeLatencyMicros=1000}。
+ * 写入速度持续低于日志产生速度时，异步队列被填满后请求线程同样需要等待写入，耗时将接近同步写入。
+ * 也可通过 {@code -p logDir=/mnt/slow-disk} 将日志文件放于真实的慢速磁盘上测量。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFixtures.LOGBACK_CONFIG)
+public class LoggingBenchmark {
+
+  /**
+   * 与 logback-spring.xml 中相同的异步队列容量。
+   */
+  private static final int ASYNC_QUEUE_SIZE = 8192;
+
+  @Param({"sync", "async"})
+  private String mode;
+
+  @Param("target/benchmark-logs")
+  private String logDir;
+
+  @Param("0")
+  private long writeLatencyMicros;
+
+  private LoggerContext loggerContext;
+  private Logger logger;
+  private String auditJson;
+
+  @Setup
+  public void setup() throws JsonProcessingException {
+    loggerContext = new LoggerContext();
+
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(loggerContext);
+    encoder.setPattern("%msg%n");
+    encoder.start();
+
+    FileAppender<ILoggingEvent> fileAppender = new FileAppender<>() {
+      @Override
+      public void setOutputStream(OutputStream outputStream) {
+        super.setOutputStream(writeLatencyMicros > 0
+          ? new SlowOutputStream(outputStream, writeLatencyMicros)
+          : outputStream);
+      }
+    };
+    fileAppender.setContext(loggerContext);
+    fileAppender.setFile(Paths.get(logDir, "audit-" + mode + ".jsonl").toString());
+    fileAppender.setEncoder(encoder);
+    fileAppender.start();
+
+    Appender<ILoggingEvent> appender = fileAppender;
+    if ("async".equals(mode)) {
+      AsyncAppender asyncAppender = new AsyncAppender();
+      asyncAppender.setContext(loggerContext);
+      asyncAppender.setQueueSize(ASYNC_QUEUE_SIZE);
+      asyncAppender.setDiscardingThreshold(0);
+      asyncAppender.setIncludeCallerData(false);
+      asyncAppender.addAppender(fileAppender);
+      asyncAppender.start();
+      appender = asyncAppender;
+    }
+
+    logger = loggerContext.getLogger("AUDIT");
+    logger.setAdditive(false);
+    logger.addAppender(appender);
+
+    auditJson = BenchmarkFixtures.objectMapper()
+      .writeValueAsString(BenchmarkFixtures.operationLogs(1).get(0));
+  }
+
+  @TearDown
+  public void tearDown() {
+    loggerContext.stop();
+  }
+
+  @Benchmark
+  public void logAuditLine() {
+    logger.info(auditJson);
+  }
+
+  /**
+   * 每次写入前等待固定时间，模拟慢速磁盘。
+   */
+  private static class SlowOutputStream extends FilterOutputStream {
+
+    private final long latencyNanos;
+
+    private SlowOutputStream(OutputStream out, long latencyMicros) {
+      super(out);
+      this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      LockSupport.parkNanos(latencyNanos);
+      out.write(b, off, len);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package net.wuxianjie.benchmarks;
+
+import net.wuxianjie.springbootcore.security.AuthenticationUtils;
+import net.wuxianjie.web.security.MenuPermissionChecker;
+import net.wuxianjie.web.security.RequiresMenu;
+import net.wuxianjie.web.security.RequiresMenuAspect;
+import net.wuxianjie.web.security.RoleHierarchyConfig;
+import net.wuxianjie.web.security.RoleOfMenu;
+import net.wuxianjie.web.user.CustomUserDetails;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 菜单权限检查的基准测试：对比 {@code @PreAuthorize("hasRole(...)")} 的 SpEL 求值与 {@link RequiresMenu} 的位掩码检查。
+ *
+ * <p>
+ * 用户只绑定了上级菜单 {@code sys}，故 SpEL 路径需展开角色层级后才能匹配 {@link RoleOfMenu#ROLE_USER_ADD}。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFixtures.LOGBACK_CONFIG)
+public class MenuAuthorizationBenchmark {
+
+  private static final String HAS_ROLE_EXPRESSION = "hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_USER_ADD.name())";
+
+  private Authentication authentication;
+  private DefaultMethodSecurityExpressionHandler expressionHandler;
+  private Expression hasRoleExpression;
+  private SimpleMethodInvocation methodInvocation;
+
+  private RequiresMenuAspect aspect;
+  private RequiresMenu requiresMenu;
+  private SampleController proxy;
+
+  @Setup
+  public void setup() throws NoSuchMethodException {
+    CustomUserDetails userDetails = new CustomUserDetails(
+      2,
+      BenchmarkFixtures.USERNAME,
+      BenchmarkFixtures.MENUS,
+      null,
+      null,
+      AuthenticationUtils.toAuthorities(BenchmarkFixtures.MENUS),
+      RoleOfMenu.toEffectiveMask(BenchmarkFixtures.MENUS)
+    );
+    authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+    // 与 @PreAuthorize 相同：表达式只解析一次，每次调用时创建求值上下文并求值
+    expressionHandler = new DefaultMethodSecurityExpressionHandler();
+    expressionHandler.setRoleHierarchy(new RoleHierarchyConfig().roleHierarchy());
+    hasRoleExpression = expressionHandler.getExpressionParser().parseExpression(HAS_ROLE_EXPRESSION);
+
+    SampleController target = new SampleController();
+    Method method = SampleController.class.getMethod("addUser");
+    methodInvocation = new SimpleMethodInvocation(target, method);
+
+    aspect = new RequiresMenuAspect(new MenuPermissionChecker());
+    requiresMenu = method.getAnnotation(RequiresMenu.class);
+
+    AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAspect(aspect);
+    proxy = proxyFactory.getProxy();
+  }
+
+  @TearDown
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Benchmark
+  public boolean spelHasRole() {
+    EvaluationContext context = expressionHandler.createEvaluationContext(authentication, methodInvocation);
+    return ExpressionUtils.evaluateAsBoolean(hasRoleExpression, context);
+  }
+
+  @Benchmark
+  public void requiresMenuCheck() {
+    aspect.check(requiresMenu);
+  }
+
+  @Benchmark
+  public int requiresMenuProxy() {
+    return proxy.addUser();
+  }
+
+  /**
+   * 模拟的控制器。
+   */
+  public static class SampleController {
+
+    @RequiresMenu(RoleOfMenu.ROLE_USER_ADD)
+    public int addUser() {
+      return 1;
+    }
+  }
+}
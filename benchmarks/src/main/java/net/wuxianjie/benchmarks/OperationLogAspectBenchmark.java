@@ -0,0 +1,85 @@
+package net.wuxianjie.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.wuxianjie.web.operationlog.OperationLog;
+import net.wuxianjie.web.operationlog.OperationLogAspect;
+import net.wuxianjie.web.operationlog.OperationLogService;
+import net.wuxianjie.web.operationlog.OperationLogger;
+import net.wuxianjie.web.shared.AsyncBatchWriter;
+import net.wuxianjie.web.shared.AuditJsonLogger;
+import net.wuxianjie.web.shared.AuditLogPropertiesConfig;
+import net.wuxianjie.web.shared.OverflowPolicy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 操作日志切面的基准测试，即每个标有 {@link OperationLogger} 的方法在调用后所需的额外开销。
+ *
+ * <p>
+ * 操作日志由不执行任何写入的异步批量写入器接收，故只测量切面本身的开销。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFixtures.LOGBACK_CONFIG)
+public class OperationLogAspectBenchmark {
+
+  private AsyncBatchWriter<OperationLog> operationLogWriter;
+  private SampleOperations proxy;
+
+  @Setup
+  public void setup() {
+    ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+
+    AuditLogPropertiesConfig auditLogConfig = new AuditLogPropertiesConfig();
+    auditLogConfig.setOverflowPolicy(OverflowPolicy.DROP_OLDEST);
+    operationLogWriter = new AsyncBatchWriter<>("benchmark-op-log", OperationLog.class, auditLogConfig, objectMapper, logs -> {
+    });
+    operationLogWriter.start();
+
+    OperationLogService operationLogService = new OperationLogService(null, null, null, operationLogWriter);
+    AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new SampleOperations());
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAspect(new OperationLogAspect(objectMapper, operationLogService, new AuditJsonLogger(objectMapper), new SimpleMeterRegistry()));
+    proxy = proxyFactory.getProxy();
+  }
+
+  @TearDown
+  public void tearDown() {
+    operationLogWriter.close();
+  }
+
+  @Benchmark
+  public Map<String, Object> withOperationLog() {
+    return proxy.updateUser(2, "admin", 1);
+  }
+
+  @Benchmark
+  public Map<String, Object> withoutOperationLog() {
+    return proxy.getUser(2, "admin", 1);
+  }
+
+  /**
+   * 模拟的业务方法。
+   */
+  public static class SampleOperations {
+
+    @OperationLogger("修改用户")
+    public Map<String, Object> updateUser(int userId, String username, int enabled) {
+      return Map.of("userId", userId, "username", username, "enabled", enabled);
+    }
+
+    public Map<String, Object> getUser(int userId, String username, int enabled) {
+      return Map.of("userId", userId, "username", username, "enabled", enabled);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package net.wuxianjie.benchmarks;
+
+import net.wuxianjie.springbootcore.rest.GlobalResponseBodyAdvice;
+import net.wuxianjie.web.operationlog.OperationLog;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 全局响应结果包装的基准测试，每个 REST API 响应都需执行一次。
+ *
+ * @author 吴仙杰
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFixtures.LOGBACK_CONFIG)
+public class ResponseBodyAdviceBenchmark {
+
+  private GlobalResponseBodyAdvice advice;
+  private List<OperationLog> objectBody;
+
+  @Setup
+  public void setup() {
+    advice = new GlobalResponseBodyAdvice(BenchmarkFixtures.objectMapper());
+    objectBody = BenchmarkFixtures.operationLogs(20);
+  }
+
+  @Benchmark
+  public Object wrapObjectBody() {
+    return beforeBodyWrite(objectBody);
+  }
+
+  @Benchmark
+  public Object wrapStringBody() {
+    return beforeBodyWrite("修改用户成功");
+  }
+
+  private Object beforeBodyWrite(Object body) {
+    return advice.beforeBodyWrite(
+      body,
+      null,
+      MediaType.APPLICATION_JSON,
+      MappingJackson2HttpMessageConverter.class,
+      new ServletServerHttpRequest(new MockHttpServletRequest("GET", "/api/v1/op-log/list")),
+      new ServletServerHttpResponse(new MockHttpServletResponse())
+    );
+  }
+}
@@ -0,0 +1,71 @@
+package net.wuxianjie.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.wuxianjie.springbootcore.security.TokenAuthenticationFilter;
+import net.wuxianjie.springbootcore.util.JwtCodec;
+import net.wuxianjie.web.security.TokenAttributes;
+import net.wuxianjie.web.security.TokenServiceImpl;
+import net.wuxianjie.web.user.CustomUserDetails;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token 身份验证的基准测试，覆盖 Token 业务逻辑及过滤器两层。
+ *
+ * <p>
+ * 以 {@code verifiedTokenCache} 对比启用已验证 Token 缓存前后的耗时，并发场景使用 {@code -t} 指定线程数，
+ * 如 {@code java -jar benchmarks/target/benchmarks.jar TokenAuthenticationBenchmark -t 4 -i 10}，
+ * 结果见 {@code benchmarks/baseline/token-authentication-t*.json}。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFixtures.LOGBACK_CONFIG)
+public class TokenAuthenticationBenchmark {
+
+  @Param({"enabled", "disabled"})
+  private String verifiedTokenCache;
+
+  private String accessToken;
+  private TokenServiceImpl tokenService;
+  private TokenAuthenticationFilter filter;
+
+  @Setup
+  public void setup() {
+    JwtCodec jwtCodec = new JwtCodec(BenchmarkFixtures.SIGNING_KEY);
+    accessToken = jwtCodec.createJwt(BenchmarkFixtures.accessTokenPayload(), TokenAttributes.EXPIRES_IN_SECONDS_VALUE);
+    tokenService = BenchmarkFixtures.loggedInTokenService(jwtCodec, accessToken, "enabled".equals(verifiedTokenCache));
+    filter = new TokenAuthenticationFilter(BenchmarkFixtures.objectMapper(), tokenService, new SimpleMeterRegistry());
+  }
+
+  @Benchmark
+  public CustomUserDetails authenticate() {
+    return tokenService.authenticate(accessToken);
+  }
+
+  @Benchmark
+  public MockHttpServletResponse doFilter() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/list");
+    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, new MockFilterChain());
+
+    // 在方法内清理而非使用 @TearDown(Level.Invocation)，以免每次调用的计时开销掩盖被测结果
+    SecurityContextHolder.clearContext();
+    return response;
+  }
+}
@@ -0,0 +1,80 @@
+package net.wuxianjie.benchmarks.load;
+
+import java.util.Arrays;
+
+/**
+ * 单线程使用的请求耗时记录器，测量结束后再合并各线程的记录并计算百分位数。
+ *
+ * @author 吴仙杰
+ */
+class LatencyRecorder {
+
+  private long[] latencies = new long[1024];
+  private int size;
+  private long errors;
+
+  /**
+   * 记录一次成功请求的耗时。
+   *
+   * @param latencyNanos 耗时，单位纳秒
+   */
+  void record(long latencyNanos) {
+    if (size == latencies.length) latencies = Arrays.copyOf(latencies, size * 2);
+
+    latencies[size++] = latencyNanos;
+  }
+
+  /**
+   * 记录一次失败的请求。
+   */
+  void recordError() {
+    errors++;
+  }
+
+  /**
+   * 合并其他线程的记录。
+   *
+   * @param other 其他线程的记录器
+   */
+  void merge(LatencyRecorder other) {
+    if (size + other.size > latencies.length) latencies = Arrays.copyOf(latencies, size + other.size);
+
+    System.arraycopy(other.latencies, 0, latencies, size, other.size);
+    size += other.size;
+    errors += other.errors;
+  }
+
+  /**
+   * 计算测试结果。
+   *
+   * @param scenario        场景
+   * @param durationSeconds 测量时长（秒）
+   * @return 测试结果
+   */
+  ScenarioResult toResult(LoadScenario scenario, int durationSeconds) {
+    long[] sorted = Arrays.copyOf(latencies, size);
+    Arrays.sort(sorted);
+
+    ScenarioResult result = new ScenarioResult();
+    result.setScenario(scenario.getValue());
+    result.setRequests(size);
+    result.setErrors(errors);
+    result.setThroughput((double) size / durationSeconds);
+    result.setP50Millis(percentileMillis(sorted, 0.5));
+    result.setP99Millis(percentileMillis(sorted, 0.99));
+    result.setP999Millis(percentileMillis(sorted, 0.999));
+    result.setMaxMillis(sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1]));
+    return result;
+  }
+
+  private double percentileMillis(long[] sorted, double percentile) {
+    if (sorted.length == 0) return 0;
+
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return toMillis(sorted[Math.max(index, 0)]);
+  }
+
+  private double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
@@ -0,0 +1,81 @@
+package net.wuxianjie.benchmarks.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * HTTP 压力测试的请求场景。
+ *
+ * @author 吴仙杰
+ */
+@Getter
+@RequiredArgsConstructor
+enum LoadScenario {
+
+  /**
+   * 登录：{@code POST /api/v1/access-token}，包含 BCrypt 密码校验。
+   */
+  LOGIN("login", 1),
+
+  /**
+   * 用户分页列表：{@code GET /api/v1/user/list}。
+   */
+  USER_LIST("user-list", 3),
+
+  /**
+   * 操作日志分页列表：{@code GET /api/v1/operation-log/list}。
+   */
+  OPERATION_LOG_LIST("operation-log-list", 3),
+
+  /**
+   * 登录日志分页列表：{@code GET /api/v1/login-log/list}。
+   */
+  LOGIN_LOG_LIST("login-log-list", 1),
+
+  /**
+   * 角色列表：{@code GET /api/v1/role/list}，不带 {@code If-None-Match}，每次均返回全部角色。
+   */
+  ROLE_LIST("role-list", 1),
+
+  /**
+   * 修改用户：{@code POST /api/v1/user/update/{userId}}，同时会产生一条操作日志。
+   */
+  UPDATE_USER("update-user", 2);
+
+  /**
+   * 场景名称，用于 {@code load.mix} 参数及测试结果。
+   */
+  private final String value;
+
+  private final int defaultWeight;
+
+  /**
+   * 根据场景名称获取场景。
+   *
+   * @param value 场景名称
+   * @return 场景
+   */
+  static LoadScenario of(String value) {
+    return Arrays.stream(values())
+      .filter(scenario -> scenario.value.equals(value))
+      .findFirst()
+      .orElseThrow(() -> new IllegalArgumentException("不存在的场景：" + value));
+  }
+
+  /**
+   * 各场景的默认请求权重。
+   *
+   * @return 场景及其权重
+   */
+  static Map<LoadScenario, Integer> defaultMix() {
+    Map<LoadScenario, Integer> weights = new EnumMap<>(LoadScenario.class);
+    for (LoadScenario scenario : values()) {
+      weights.put(scenario, scenario.defaultWeight);
+    }
+    return weights;
+  }
+}
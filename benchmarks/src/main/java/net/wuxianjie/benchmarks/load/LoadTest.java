@@ -0,0 +1,266 @@
+package net.wuxianjie.benchmarks.load;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wuxianjie.web.WebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 端到端的 HTTP 压力测试：使用临时 SQLite 数据库在随机端口启动 {@link WebApplication}，预置数据后按场景权重并发请求，并统计吞吐量及耗时百分位数。
+ *
+ * <p>
+ * 运行参数见 {@link LoadTestOptions}，命令行参数会原样传给 {@link WebApplication}，以便比较不同的连接池、缓存及分页配置，例如：
+ * </p>
+ *
+ * <pre>{@code
+ * mvn -P benchmarks install -DskipTests
+ * mvn -P benchmarks -pl benchmarks exec:java -Dload.threads=16 -Dexec.args="--web.sqlite.reader-pool-size=8"
+ * }</pre>
+ *
+ * @author 吴仙杰
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoadTest {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+  private final LoadTestOptions options;
+  private final String baseUrl;
+  private final List<Integer> userIds;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final HttpClient httpClient = HttpClient.newBuilder()
+    .version(HttpClient.Version.HTTP_1_1)
+    .connectTimeout(Duration.ofSeconds(5))
+    .build();
+
+  public static void main(String[] args) throws Exception {
+    LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+    Path workDir = Files.createTempDirectory("rest-spring-load-test-");
+
+    try (ConfigurableApplicationContext context = startApplication(workDir, args)) {
+      List<Integer> userIds = new LoadTestDataSeeder(
+        context.getBean(JdbcTemplate.class),
+        context.getBean(TransactionTemplate.class),
+        context.getBean(PasswordEncoder.class),
+        options
+      ).seed();
+
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      List<ScenarioResult> results = new LoadTest(options, "http://localhost:" + port, userIds).run();
+      report(options, results);
+    } finally {
+      FileUtil.del(workDir);
+    }
+
+    // Hutool 定时清理缓存的全局线程并非守护线程，关闭 Spring 容器后仍会使 exec:java 一直等待
+    System.exit(0);
+  }
+
+  private static ConfigurableApplicationContext startApplication(Path workDir, String[] args) {
+    String[] defaultArgs = {
+      "--server.port=0",
+      "--spring.datasource.url=jdbc:sqlite:" + workDir.resolve("app.db"),
+      "--web.audit-log.spill-dir=" + workDir.resolve("spill"),
+      "--web.log-partition.archive-dir=" + workDir.resolve("archive"),
+      "--logging.level.root=warn"
+    };
+
+    // 后面的命令行参数覆盖前面的同名参数
+    return new SpringApplicationBuilder(WebApplication.class)
+      .run(ArrayUtil.addAll(defaultArgs, args));
+  }
+
+  private static void report(LoadTestOptions options, List<ScenarioResult> results) throws IOException {
+    StringBuilder table = new StringBuilder()
+      .append(StrUtil.format("\n并发线程：{}，测量时长：{} 秒\n", options.getThreads(), options.getDurationSeconds()))
+      .append(String.format("%-20s %10s %8s %12s %10s %10s %10s %10s%n",
+        "scenario", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+    for (ScenarioResult result : results) {
+      table.append(String.format("%-20s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+        result.getScenario(), result.getRequests(), result.getErrors(), result.getThroughput(),
+        result.getP50Millis(), result.getP99Millis(), result.getP999Millis(), result.getMaxMillis()));
+    }
+    log.warn(table.toString());
+
+    if (StrUtil.isEmpty(options.getReportFile())) return;
+
+    new ObjectMapper().writerWithDefaultPrettyPrinter()
+      .writeValue(Paths.get(options.getReportFile()).toFile(), results);
+    log.warn("已将测试结果写入 {}", options.getReportFile());
+  }
+
+  /**
+   * 预热后开始测量，并返回各场景的测试结果。
+   *
+   * @return 各场景的测试结果
+   * @throws InterruptedException 当等待线程结束时被中断抛出
+   */
+  List<ScenarioResult> run() throws InterruptedException {
+    long measureStartNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.getWarmupSeconds());
+    long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+
+    ExecutorService executor = Executors.newFixedThreadPool(options.getThreads());
+    List<Future<Map<LoadScenario, LatencyRecorder>>> futures = new ArrayList<>();
+    for (int i = 0; i < options.getThreads(); i++) {
+      int workerIndex = i;
+      futures.add(executor.submit(() -> runWorker(workerIndex, measureStartNanos, endNanos)));
+    }
+    executor.shutdown();
+
+    Map<LoadScenario, LatencyRecorder> merged = new EnumMap<>(LoadScenario.class);
+    for (Future<Map<LoadScenario, LatencyRecorder>> future : futures) {
+      try {
+        future.get().forEach((scenario, recorder) ->
+          merged.computeIfAbsent(scenario, k -> new LatencyRecorder()).merge(recorder));
+      } catch (ExecutionException e) {
+        log.error("压力测试线程异常退出", e.getCause());
+      }
+    }
+
+    List<ScenarioResult> results = new ArrayList<>();
+    merged.forEach((scenario, recorder) -> results.add(recorder.toResult(scenario, options.getDurationSeconds())));
+    return results;
+  }
+
+  private Map<LoadScenario, LatencyRecorder> runWorker(int workerIndex,
+                                                       long measureStartNanos,
+                                                       long endNanos) throws IOException, InterruptedException {
+    // 每个线程使用各自的已登录用户，避免重复登录使其他线程的 Access Token 失效
+    String accessToken = login(LoadTestDataSeeder.USERNAME_PREFIX + workerIndex);
+
+    Map<LoadScenario, LatencyRecorder> recorders = new EnumMap<>(LoadScenario.class);
+    List<LoadScenario> weightedScenarios = toWeightedScenarios();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    while (true) {
+      long startNanos = System.nanoTime();
+      if (startNanos >= endNanos) break;
+
+      LoadScenario scenario = weightedScenarios.get(random.nextInt(weightedScenarios.size()));
+      HttpRequest request = toRequest(scenario, accessToken, random);
+
+      boolean isSuccess;
+      try {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        isSuccess = isSuccess(response);
+      } catch (IOException e) {
+        isSuccess = false;
+      }
+      long latencyNanos = System.nanoTime() - startNanos;
+
+      // 预热期间的请求不计入结果
+      if (startNanos < measureStartNanos) continue;
+
+      LatencyRecorder recorder = recorders.computeIfAbsent(scenario, k -> new LatencyRecorder());
+      if (isSuccess) {
+        recorder.record(latencyNanos);
+      } else {
+        recorder.recordError();
+      }
+    }
+
+    return recorders;
+  }
+
+  private List<LoadScenario> toWeightedScenarios() {
+    List<LoadScenario> scenarios = new ArrayList<>();
+    options.getMix().forEach((scenario, weight) -> {
+      for (int i = 0; i < weight; i++) {
+        scenarios.add(scenario);
+      }
+    });
+
+    if (scenarios.isEmpty()) throw new IllegalArgumentException("load.mix 中至少需包含一个权重大于 0 的场景");
+
+    return scenarios;
+  }
+
+  private HttpRequest toRequest(LoadScenario scenario, String accessToken, ThreadLocalRandom random) {
+    // 登录及修改场景只使用未被线程占用的用户
+    int spareIndex = options.getThreads() + random.nextInt(options.getUsers() - options.getThreads());
+    int pageNo = 1 + random.nextInt(10);
+
+    switch (scenario) {
+      case LOGIN:
+        return toLoginRequest(LoadTestDataSeeder.USERNAME_PREFIX + spareIndex);
+      case USER_LIST:
+        return toGetRequest("/api/v1/user/list?" + toPagingQuery(pageNo), accessToken);
+      case OPERATION_LOG_LIST:
+        return toGetRequest("/api/v1/operation-log/list?" + toPagingQuery(pageNo), accessToken);
+      case LOGIN_LOG_LIST:
+        return toGetRequest("/api/v1/login-log/list?" + toPagingQuery(pageNo), accessToken);
+      case ROLE_LIST:
+        return toGetRequest("/api/v1/role/list", accessToken);
+      default:
+        return newRequestBuilder("/api/v1/user/update/" + userIds.get(spareIndex))
+          .header("Authorization", "Bearer " + accessToken)
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString("{\"enabled\":1,\"menus\":\"user\"}"))
+          .build();
+    }
+  }
+
+  private String toPagingQuery(int pageNo) {
+    return StrUtil.format("pageNo={}&pageSize={}&totalMode={}", pageNo, options.getPageSize(), options.getTotalMode());
+  }
+
+  private String login(String username) throws IOException, InterruptedException {
+    HttpResponse<String> response = httpClient.send(toLoginRequest(username), HttpResponse.BodyHandlers.ofString());
+    if (!isSuccess(response)) throw new IllegalStateException(StrUtil.format("用户 {} 登录失败：{}", username, response.body()));
+
+    return objectMapper.readTree(response.body()).path("data").path("accessToken").asText();
+  }
+
+  private HttpRequest toLoginRequest(String username) {
+    String body = StrUtil.format("{\"username\":\"{}\",\"password\":\"{}\"}", username, LoadTestDataSeeder.PASSWORD);
+    return newRequestBuilder("/api/v1/access-token")
+      .header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofString(body))
+      .build();
+  }
+
+  private HttpRequest toGetRequest(String pathAndQuery, String accessToken) {
+    return newRequestBuilder(pathAndQuery)
+      .header("Authorization", "Bearer " + accessToken)
+      .GET()
+      .build();
+  }
+
+  private HttpRequest.Builder newRequestBuilder(String pathAndQuery) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+      .timeout(REQUEST_TIMEOUT);
+  }
+
+  private boolean isSuccess(HttpResponse<String> response) throws IOException {
+    if (response.statusCode() != 200) return false;
+
+    JsonNode errorCode = objectMapper.readTree(response.body()).path("errorCode");
+    return errorCode.isInt() && errorCode.asInt() == 0;
+  }
+}
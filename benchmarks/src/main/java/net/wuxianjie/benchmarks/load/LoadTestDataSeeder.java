@@ -0,0 +1,188 @@
+package net.wuxianjie.benchmarks.load;
+
+import cn.hutool.core.date.DatePattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 向临时数据库中预置压力测试所需的用户、角色、操作日志及登录日志。
+ *
+ * <p>
+ * 写操作均在事务中执行，以便开启 WAL 模式时使用写连接。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@Slf4j
+@RequiredArgsConstructor
+class LoadTestDataSeeder {
+
+  /**
+   * 预置用户的用户名前缀，用户名为前缀加序号。
+   */
+  static final String USERNAME_PREFIX = "load_user_";
+
+  /**
+   * 所有预置用户的密码。
+   */
+  static final String PASSWORD = "load-test";
+
+  /**
+   * 预置角色的角色名前缀，角色名为前缀加序号。
+   */
+  static final String ROLE_NAME_PREFIX = "load_role_";
+
+  /**
+   * 并发线程所用用户的菜单，依序号轮流分配，均可访问所有请求场景。
+   */
+  private static final List<String> WORKER_MENUS = List.of(
+    "root",
+    "sys",
+    "user,role,op_log,login_log",
+    "user,user_add,user_update,user_reset_pwd,role,role_add,op_log,login_log"
+  );
+
+  /**
+   * 其余用户及角色的菜单，依序号轮流分配，多数只能访问部分功能，仅用于登录及修改场景。
+   */
+  private static final List<String> SPARE_MENUS = List.of(
+    "user",
+    "user,user_add,user_update",
+    "role,role_add,role_update,role_del",
+    "op_log,login_log",
+    "login_log",
+    "user,role,op_log,login_log",
+    "sys"
+  );
+
+  private static final int BATCH_SIZE = 10_000;
+
+  private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(DatePattern.NORM_DATETIME_PATTERN);
+
+  /**
+   * 日志时间均匀分布于最近的天数内。
+   */
+  private static final int LOG_DAYS = 90;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final PasswordEncoder passwordEncoder;
+  private final LoadTestOptions options;
+
+  /**
+   * 预置全部数据。
+   *
+   * @return 按序号排列的预置用户 id
+   */
+  List<Integer> seed() {
+    long start = System.currentTimeMillis();
+
+    List<Integer> userIds = seedUsers();
+    seedRoles();
+    seedOperationLogs();
+    seedLoginLogs();
+
+    log.warn("已预置 {} 个用户、{} 个角色、{} 条操作日志、{} 条登录日志，耗时 {} ms",
+      options.getUsers(), options.getRoles(), options.getOperationLogs(), options.getLoginLogs(),
+      System.currentTimeMillis() - start);
+    return userIds;
+  }
+
+  private List<Integer> seedUsers() {
+    // BCrypt 计算较慢，所有用户共用同一个密码哈希
+    String hashedPassword = passwordEncoder.encode(PASSWORD);
+    String now = LocalDateTime.now().format(TIME_FORMATTER);
+
+    batchInsert(
+      "INSERT INTO users (create_time, modify_time, is_enabled, username, hashed_password, menus) VALUES (?, ?, 1, ?, ?, ?)",
+      options.getUsers(),
+      i -> new Object[]{now, now, USERNAME_PREFIX + i, hashedPassword, toUserMenus(i)}
+    );
+
+    return jdbcTemplate.queryForList(
+      "SELECT user_id FROM users WHERE username LIKE '" + USERNAME_PREFIX + "%' ORDER BY user_id",
+      Integer.class
+    );
+  }
+
+  private void seedRoles() {
+    batchInsert(
+      "INSERT INTO roles (role_name, menus) VALUES (?, ?)",
+      options.getRoles(),
+      i -> new Object[]{ROLE_NAME_PREFIX + i, SPARE_MENUS.get(i % SPARE_MENUS.size())}
+    );
+  }
+
+  private String toUserMenus(int index) {
+    // 前 load.threads 个用户由并发线程登录后使用，需能访问所有请求场景
+    if (index < options.getThreads()) return WORKER_MENUS.get(index % WORKER_MENUS.size());
+
+    return SPARE_MENUS.get(index % SPARE_MENUS.size());
+  }
+
+  private void seedOperationLogs() {
+    batchInsert(
+      "INSERT INTO operation_logs (operation_time, user_id, username, request_ip, request_uri, method_name, method_message, parameter_json, return_json) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+      options.getOperationLogs(),
+      i -> {
+        int userIndex = i % options.getUsers();
+        return new Object[]{
+          randomRecentTime(),
+          null,
+          USERNAME_PREFIX + userIndex,
+          randomIp(),
+          "/api/v1/user/update/" + userIndex,
+          "net.wuxianjie.web.user.UserController.updateUser",
+          "修改用户",
+          "{\"userId\":" + userIndex + ",\"query\":{\"enabled\":1,\"menus\":\"user\"}}",
+          "{\"message\":\"修改用户成功\"}"
+        };
+      }
+    );
+  }
+
+  private void seedLoginLogs() {
+    batchInsert(
+      "INSERT INTO login_logs (login_time, user_id, username, request_ip) VALUES (?, ?, ?, ?)",
+      options.getLoginLogs(),
+      i -> new Object[]{randomRecentTime(), null, USERNAME_PREFIX + (i % options.getUsers()), randomIp()}
+    );
+  }
+
+  private void batchInsert(String sql, int total, RowSupplier rowSupplier) {
+    for (int from = 0; from < total; from += BATCH_SIZE) {
+      int to = Math.min(from + BATCH_SIZE, total);
+      List<Object[]> rows = new ArrayList<>(to - from);
+      for (int i = from; i < to; i++) {
+        rows.add(rowSupplier.get(i));
+      }
+
+      transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+    }
+  }
+
+  private String randomRecentTime() {
+    long seconds = ThreadLocalRandom.current().nextLong(LOG_DAYS * 24L * 3600);
+    return LocalDateTime.now().minusSeconds(seconds).format(TIME_FORMATTER);
+  }
+
+  private String randomIp() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return "192.168." + random.nextInt(256) + "." + random.nextInt(256);
+  }
+
+  @FunctionalInterface
+  private interface RowSupplier {
+
+    Object[] get(int index);
+  }
+}
@@ -0,0 +1,113 @@
+package net.wuxianjie.benchmarks.load;
+
+import cn.hutool.core.text.StrSplitter;
+import lombok.Data;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP 压力测试的运行参数，均通过 JVM 系统属性（{@code -Dload.xxx=...}）指定。
+ *
+ * @author 吴仙杰
+ */
+@Data
+class LoadTestOptions {
+
+  /**
+   * 预置的用户数，需大于并发线程数，多出的用户用于登录及修改场景。
+   */
+  private int users = 1_000;
+
+  /**
+   * 预置的角色数。
+   */
+  private int roles = 100;
+
+  /**
+   * 预置的操作日志条数。
+   */
+  private int operationLogs = 100_000;
+
+  /**
+   * 预置的登录日志条数。
+   */
+  private int loginLogs = 100_000;
+
+  /**
+   * 并发线程数，每个线程使用各自的已登录用户。
+   */
+  private int threads = 8;
+
+  /**
+   * 预热时长（秒），期间的请求不计入结果。
+   */
+  private int warmupSeconds = 10;
+
+  /**
+   * 测量时长（秒）。
+   */
+  private int durationSeconds = 30;
+
+  /**
+   * 分页查询的每页条数。
+   */
+  private int pageSize = 20;
+
+  /**
+   * 分页查询的总数统计方式。
+   *
+   * @see net.wuxianjie.springbootcore.paging.PagingTotalMode
+   */
+  private int totalMode = 0;
+
+  /**
+   * 各场景的请求权重，格式为 {@code 场景:权重,场景:权重}，例如 {@code login:1,user-list:3}。
+   */
+  private Map<LoadScenario, Integer> mix = LoadScenario.defaultMix();
+
+  /**
+   * 测试结果的 JSON 输出文件，为空时只打印到控制台。
+   */
+  private String reportFile;
+
+  /**
+   * 从系统属性中读取运行参数，未指定时使用默认值。
+   *
+   * @return 运行参数
+   */
+  static LoadTestOptions fromSystemProperties() {
+    LoadTestOptions options = new LoadTestOptions();
+    options.setUsers(Integer.getInteger("load.users", options.getUsers()));
+    options.setRoles(Integer.getInteger("load.roles", options.getRoles()));
+    options.setOperationLogs(Integer.getInteger("load.operation-logs", options.getOperationLogs()));
+    options.setLoginLogs(Integer.getInteger("load.login-logs", options.getLoginLogs()));
+    options.setThreads(Integer.getInteger("load.threads", options.getThreads()));
+    options.setWarmupSeconds(Integer.getInteger("load.warmup-seconds", options.getWarmupSeconds()));
+    options.setDurationSeconds(Integer.getInteger("load.duration-seconds", options.getDurationSeconds()));
+    options.setPageSize(Integer.getInteger("load.page-size", options.getPageSize()));
+    options.setTotalMode(Integer.getInteger("load.total-mode", options.getTotalMode()));
+    options.setReportFile(System.getProperty("load.report-file"));
+
+    String mix = System.getProperty("load.mix");
+    if (mix != null) options.setMix(parseMix(mix));
+
+    if (options.getUsers() <= options.getThreads()) {
+      throw new IllegalArgumentException("load.users 需大于 load.threads");
+    }
+
+    return options;
+  }
+
+  private static Map<LoadScenario, Integer> parseMix(String mix) {
+    Map<LoadScenario, Integer> weights = new EnumMap<>(LoadScenario.class);
+    for (String item : StrSplitter.split(mix, ',', 0, true, true)) {
+      List<String> pair = StrSplitter.split(item, ':', 2, true, true);
+      if (pair.size() != 2) throw new IllegalArgumentException("load.mix 格式错误：" + item);
+
+      weights.put(LoadScenario.of(pair.get(0)), Integer.parseInt(pair.get(1)));
+    }
+    return weights;
+  }
+}
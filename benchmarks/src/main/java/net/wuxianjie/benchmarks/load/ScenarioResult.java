@@ -0,0 +1,52 @@
+package net.wuxianjie.benchmarks.load;
+
+import lombok.Data;
+
+/**
+ * 单个场景的压力测试结果。
+ *
+ * @author 吴仙杰
+ */
+@Data
+class ScenarioResult {
+
+  /**
+   * 场景名称。
+   */
+  private String scenario;
+
+  /**
+   * 成功的请求数。
+   */
+  private long requests;
+
+  /**
+   * 失败的请求数，包括非 2xx 响应、业务错误码及连接异常。
+   */
+  private long errors;
+
+  /**
+   * 每秒成功的请求数。
+   */
+  private double throughput;
+
+  /**
+   * 耗时中位数，单位毫秒。
+   */
+  private double p50Millis;
+
+  /**
+   * 99% 请求的耗时上限，单位毫秒。
+   */
+  private double p99Millis;
+
+  /**
+   * 99.9% 请求的耗时上限，单位毫秒。
+   */
+  private double p999Millis;
+
+  /**
+   * 最大耗时，单位毫秒。
+   */
+  private double maxMillis;
+}
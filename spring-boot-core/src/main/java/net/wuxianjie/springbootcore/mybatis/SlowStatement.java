@@ -0,0 +1,45 @@
+package net.wuxianjie.springbootcore.mybatis;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 某条 MyBatis 语句最近一次成为慢 SQL 时的执行信息。
+ *
+ * @author 吴仙杰
+ * @see SlowStatementLogger
+ */
+@Data
+public class SlowStatement {
+
+  /**
+   * 语句 id，例如 {@code UserMapper.findByUsername}。
+   */
+  private String statement;
+
+  /**
+   * 累计成为慢 SQL 的次数。
+   */
+  private long slowCount;
+
+  /**
+   * 最近一次的执行时间。
+   */
+  private LocalDateTime lastOccurredAt;
+
+  /**
+   * 最近一次的执行耗时，单位毫秒。
+   */
+  private long lastElapsedMillis;
+
+  /**
+   * 最近一次执行的 SQL。
+   */
+  private String lastSql;
+
+  /**
+   * 首次成为慢 SQL 时的 SQLite 查询计划，未开启或获取失败时为 null。
+   */
+  private String queryPlan;
+}
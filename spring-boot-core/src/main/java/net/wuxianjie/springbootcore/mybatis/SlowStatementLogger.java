@@ -0,0 +1,199 @@
+package net.wuxianjie.springbootcore.mybatis;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 打印及记录慢 SQL，并在每条语句首次成为慢 SQL 时获取 SQLite 查询计划。
+ *
+ * <p>绑定的参数值默认不打印，开启后也会屏蔽密码、Token 等敏感参数，且参数值只写入日志而不对外暴露。</p>
+ *
+ * @author 吴仙杰
+ * @see SlowStatementPropertiesConfig
+ * @see StatementMetricsInterceptor
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlowStatementLogger {
+
+  private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+  /**
+   * 敏感参数名（不区分大小写），匹配的参数值一律以 {@value #MASKED_VALUE} 代替。
+   */
+  private static final Pattern SENSITIVE_PARAMETER = Pattern.compile("(?i).*(password|token|secret).*");
+
+  private static final String MASKED_VALUE = "******";
+
+  private final SlowStatementPropertiesConfig slowStatementConfig;
+
+  /**
+   * {语句 id : 最近一次的慢 SQL 信息}。
+   */
+  private final ConcurrentMap<String, SlowStatement> slowStatements = new ConcurrentHashMap<>();
+
+  /**
+   * 判断是否为慢 SQL。
+   *
+   * @param elapsedNanos 执行耗时，单位纳秒
+   * @return 是否为慢 SQL
+   */
+  boolean isSlow(long elapsedNanos) {
+    return elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(slowStatementConfig.getThresholdMillis());
+  }
+
+  /**
+   * 打印并记录慢 SQL，只应在语句执行成功后于同一线程中调用，以便使用同一数据库连接获取查询计划。
+   *
+   * @param executor         执行该语句的 {@link Executor}
+   * @param statement        {@link MappedStatement}
+   * @param shortStatementId 去除包名后的语句 id
+   * @param parameter        语句的参数对象
+   * @param boundSql         实际执行的 SQL
+   * @param elapsedNanos     执行耗时，单位纳秒
+   */
+  void log(Executor executor,
+           MappedStatement statement,
+           String shortStatementId,
+           Object parameter,
+           BoundSql boundSql,
+           long elapsedNanos) {
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    String sql = WHITESPACES.matcher(boundSql.getSql()).replaceAll(" ").trim();
+
+    SlowStatement slowStatement = slowStatements.computeIfAbsent(shortStatementId, id -> {
+      SlowStatement newStatement = new SlowStatement();
+      newStatement.setStatement(id);
+      newStatement.setQueryPlan(explainQueryPlan(executor, statement, parameter, boundSql));
+      return newStatement;
+    });
+
+    synchronized (slowStatement) {
+      slowStatement.setSlowCount(slowStatement.getSlowCount() + 1);
+      slowStatement.setLastOccurredAt(LocalDateTime.now());
+      slowStatement.setLastElapsedMillis(elapsedMillis);
+      slowStatement.setLastSql(sql);
+    }
+
+    if (!slowStatementConfig.isLogParameters()) {
+      log.warn("慢 SQL [{}]，耗时 {} ms：{}，查询计划：{}",
+        shortStatementId, elapsedMillis, sql, slowStatement.getQueryPlan());
+      return;
+    }
+
+    log.warn("慢 SQL [{}]，耗时 {} ms：{}，参数：{}，查询计划：{}",
+      shortStatementId, elapsedMillis, sql, getParameters(statement.getConfiguration(), boundSql),
+      slowStatement.getQueryPlan());
+  }
+
+  /**
+   * 获取所有语句最近一次的慢 SQL 信息，按累计次数倒序排列。
+   *
+   * @return 慢 SQL 信息的副本
+   */
+  public List<SlowStatement> getSlowStatements() {
+    return slowStatements.values().stream()
+      .map(slowStatement -> {
+        synchronized (slowStatement) {
+          SlowStatement copy = new SlowStatement();
+          copy.setStatement(slowStatement.getStatement());
+          copy.setSlowCount(slowStatement.getSlowCount());
+          copy.setLastOccurredAt(slowStatement.getLastOccurredAt());
+          copy.setLastElapsedMillis(slowStatement.getLastElapsedMillis());
+          copy.setLastSql(slowStatement.getLastSql());
+          copy.setQueryPlan(slowStatement.getQueryPlan());
+          return copy;
+        }
+      })
+      .sorted(Comparator.comparingLong(SlowStatement::getSlowCount).reversed())
+      .collect(Collectors.toList());
+  }
+
+  private String getParameters(Configuration configuration, BoundSql boundSql) {
+    Object parameterObject = boundSql.getParameterObject();
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    if (parameterObject == null || parameterMappings.isEmpty()) return "[]";
+
+    // 与 DefaultParameterHandler 相同的参数取值方式
+    MetaObject metaObject = null;
+    List<String> values = new ArrayList<>(parameterMappings.size());
+    for (ParameterMapping parameterMapping : parameterMappings) {
+      if (parameterMapping.getMode() == ParameterMode.OUT) continue;
+
+      String property = parameterMapping.getProperty();
+      if (SENSITIVE_PARAMETER.matcher(property).matches()) {
+        values.add(property + "=" + MASKED_VALUE);
+        continue;
+      }
+
+      Object value;
+      if (boundSql.hasAdditionalParameter(property)) {
+        value = boundSql.getAdditionalParameter(property);
+      } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+        value = parameterObject;
+      } else {
+        if (metaObject == null) metaObject = configuration.newMetaObject(parameterObject);
+
+        value = metaObject.getValue(property);
+      }
+
+      values.add(property + "=" + StrUtil.maxLength(String.valueOf(value), slowStatementConfig.getMaxParameterLength()));
+    }
+    return values.toString();
+  }
+
+  private String explainQueryPlan(Executor executor, MappedStatement statement, Object parameter, BoundSql boundSql) {
+    if (!slowStatementConfig.isExplainQueryPlan()) return null;
+
+    // 多行 INSERT 的查询计划没有参考价值
+    if (statement.getSqlCommandType() == SqlCommandType.INSERT) return null;
+
+    try {
+      // 由 Spring 管理的连接，不可在此关闭
+      Connection connection = executor.getTransaction().getConnection();
+      try (PreparedStatement ps = connection.prepareStatement("EXPLAIN QUERY PLAN " + boundSql.getSql())) {
+        ParameterHandler parameterHandler = new DefaultParameterHandler(statement, parameter, boundSql);
+        parameterHandler.setParameters(ps);
+
+        StringJoiner plan = new StringJoiner("; ");
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            plan.add(rs.getString("detail"));
+          }
+        }
+        return plan.toString();
+      }
+    } catch (SQLException | RuntimeException e) {
+      log.warn("获取慢 SQL [{}] 的查询计划失败：{}", statement.getId(), e.getMessage());
+      return null;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package net.wuxianjie.springbootcore.mybatis;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * 慢 SQL 配置属性配置类。
+ *
+ * @author 吴仙杰
+ * @see SlowStatementLogger
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "core.mybatis.slow-statement")
+public class SlowStatementPropertiesConfig {
+
+  /**
+   * 执行耗时达到该值的 SQL 才视为慢 SQL 并打印日志，单位毫秒。
+   */
+  @Min(message = "慢 SQL 阈值不能小于 0 毫秒", value = 0)
+  private long thresholdMillis = 200;
+
+  /**
+   * 是否在每条语句首次成为慢 SQL 时执行 {@code EXPLAIN QUERY PLAN} 并记录查询计划。
+   */
+  private boolean explainQueryPlan = true;
+
+  /**
+   * 是否在慢 SQL 日志中打印绑定的参数值，默认关闭；开启后名称包含 password、token 或 secret 的参数仍会被屏蔽。
+   */
+  private boolean logParameters;
+
+  /**
+   * 日志中每个参数值的最大长度，超出部分将被截断。
+   */
+  @Min(message = "参数值最大长度不能小于 1", value = 1)
+  private int maxParameterLength = 200;
+}
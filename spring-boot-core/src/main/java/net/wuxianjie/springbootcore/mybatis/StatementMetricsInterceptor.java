@@ -0,0 +1,117 @@
+package net.wuxianjie.springbootcore.mybatis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录每条 MyBatis 语句执行耗时的拦截器，指标名称为 {@value #TIMER_NAME}。
+ *
+ * <p>
+ * 以 Mapper 简单类名加方法名（例如 {@code UserMapper.findByUsername}）作为 {@code statement} 标签，并按执行结果（{@code outcome}）区分。
+ * </p>
+ *
+ * <p>
+ * 执行成功但耗时超过阈值的语句交由 {@link SlowStatementLogger} 打印及记录。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@Component
+@RequiredArgsConstructor
+@Intercepts({
+  @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+  @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+  @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+  /**
+   * MyBatis 语句执行耗时的指标名称。
+   */
+  static final String TIMER_NAME = "core.mybatis.statement";
+
+  /**
+   * 延迟获取：MeterRegistry 初始化时需绑定的部分 MeterBinder 依赖 Mapper，而 Mapper 又依赖本拦截器。
+   */
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+  private final SlowStatementLogger slowStatementLogger;
+
+  /**
+   * 按语句 id 及执行结果缓存的 {@link Timer}，避免每次执行时都需查找指标。
+   */
+  private final ConcurrentMap<String, Timer> successTimers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Timer> errorTimers = new ConcurrentHashMap<>();
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+    long start = System.nanoTime();
+
+    Object result;
+    try {
+      result = invocation.proceed();
+    } catch (Throwable e) {
+      errorTimers.computeIfAbsent(statement.getId(), id -> createTimer(id, "error"))
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+
+    long elapsedNanos = System.nanoTime() - start;
+    successTimers.computeIfAbsent(statement.getId(), id -> createTimer(id, "success"))
+      .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+    if (slowStatementLogger.isSlow(elapsedNanos)) logSlowStatement(invocation, statement, elapsedNanos);
+
+    return result;
+  }
+
+  private void logSlowStatement(Invocation invocation, MappedStatement statement, long elapsedNanos) {
+    Object[] args = invocation.getArgs();
+    Object parameter = args[1];
+    // 6 个参数的 query 方法已传入 BoundSql
+    BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : statement.getBoundSql(parameter);
+
+    slowStatementLogger.log(
+      (Executor) invocation.getTarget(),
+      statement,
+      toShortStatementId(statement.getId()),
+      parameter,
+      boundSql,
+      elapsedNanos
+    );
+  }
+
+  private Timer createTimer(String statementId, String outcome) {
+    return Timer.builder(TIMER_NAME)
+      .description("MyBatis 语句执行耗时")
+      .tag("statement", toShortStatementId(statementId))
+      .tag("outcome", outcome)
+      .register(meterRegistry.getObject());
+  }
+
+  private String toShortStatementId(String statementId) {
+    // 去除包名：net.wuxianjie.web.user.UserMapper.findByUsername -> UserMapper.findByUsername
+    int methodDot = statementId.lastIndexOf('.');
+    if (methodDot <= 0) return statementId;
+
+    int classDot = statementId.lastIndexOf('.', methodDot - 1);
+    return statementId.substring(classDot + 1);
+  }
+}
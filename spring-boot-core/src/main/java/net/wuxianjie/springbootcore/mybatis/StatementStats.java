@@ -0,0 +1,53 @@
+package net.wuxianjie.springbootcore.mybatis;
+
+import lombok.Data;
+
+/**
+ * 单条 MyBatis 语句的执行统计。
+ *
+ * @author 吴仙杰
+ * @see StatementStatsEndpoint
+ */
+@Data
+public class StatementStats {
+
+  /**
+   * 语句 id，例如 {@code UserMapper.findByUsername}。
+   */
+  private String statement;
+
+  /**
+   * 累计执行成功的次数。
+   */
+  private long count;
+
+  /**
+   * 累计执行耗时，单位毫秒。
+   */
+  private double totalMillis;
+
+  /**
+   * 平均执行耗时，单位毫秒。
+   */
+  private double meanMillis;
+
+  /**
+   * 最近一段时间内的最大执行耗时，单位毫秒。
+   */
+  private double maxMillis;
+
+  /**
+   * 最近一段时间内的耗时中位数，单位毫秒，未配置该百分位数时为 null。
+   */
+  private Double p50Millis;
+
+  /**
+   * 最近一段时间内 99% 执行的耗时上限，单位毫秒，未配置该百分位数时为 null。
+   */
+  private Double p99Millis;
+
+  /**
+   * 最近一次的慢 SQL 信息，从未成为慢 SQL 时为 null。
+   */
+  private SlowStatement slowStatement;
+}
@@ -0,0 +1,76 @@
+package net.wuxianjie.springbootcore.mybatis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 查看每条 MyBatis 语句的执行统计及慢 SQL 信息：{@code GET /actuator/statements}。
+ *
+ * <p>
+ * 平均耗时及累计耗时为启动以来的值，最大耗时及百分位数为 Micrometer 滚动时间窗口内的值。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see StatementMetricsInterceptor
+ * @see SlowStatementLogger
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "statements")
+public class StatementStatsEndpoint {
+
+  private final MeterRegistry meterRegistry;
+  private final SlowStatementLogger slowStatementLogger;
+
+  /**
+   * 获取所有已执行语句的统计，按累计执行耗时倒序排列。
+   *
+   * @return 语句执行统计列表
+   */
+  @ReadOperation
+  public List<StatementStats> getStatementStats() {
+    Map<String, SlowStatement> slowStatements = slowStatementLogger.getSlowStatements().stream()
+      .collect(Collectors.toMap(SlowStatement::getStatement, Function.identity()));
+
+    return meterRegistry.find(StatementMetricsInterceptor.TIMER_NAME)
+      .tag("outcome", "success")
+      .timers()
+      .stream()
+      .map(timer -> toStatementStats(timer, slowStatements))
+      .sorted(Comparator.comparingDouble(StatementStats::getTotalMillis).reversed())
+      .collect(Collectors.toList());
+  }
+
+  private StatementStats toStatementStats(Timer timer, Map<String, SlowStatement> slowStatements) {
+    String statement = timer.getId().getTag("statement");
+    HistogramSnapshot snapshot = timer.takeSnapshot();
+
+    StatementStats stats = new StatementStats();
+    stats.setStatement(statement);
+    stats.setCount(snapshot.count());
+    stats.setTotalMillis(snapshot.total(TimeUnit.MILLISECONDS));
+    stats.setMeanMillis(snapshot.mean(TimeUnit.MILLISECONDS));
+    stats.setMaxMillis(snapshot.max(TimeUnit.MILLISECONDS));
+
+    for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+      if (percentile.percentile() == 0.5) stats.setP50Millis(percentile.value(TimeUnit.MILLISECONDS));
+      if (percentile.percentile() == 0.99) stats.setP99Millis(percentile.value(TimeUnit.MILLISECONDS));
+    }
+
+    stats.setSlowStatement(slowStatements.get(statement));
+    return stats;
+  }
+}
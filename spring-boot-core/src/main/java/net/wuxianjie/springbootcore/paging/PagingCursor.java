@@ -0,0 +1,77 @@
+package net.wuxianjie.springbootcore.paging;
+
+import cn.hutool.core.date.LocalDateTimeUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import net.wuxianjie.springbootcore.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 游标分页的游标，即上一页最后一条数据的排序键 {@code (时间, ID)}。
+ *
+ * <p>
+ * 对客户端而言游标是不透明的字符串，格式为 Base64URL 编码的 {@code yyyy-MM-dd HH:mm:ss|id}。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see RequestOfCursorPaging
+ * @see ResultOfCursorPaging
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class PagingCursor {
+
+  private static final char SEPARATOR = '|';
+
+  /**
+   * 排序时间，精确到秒。
+   */
+  private final LocalDateTime time;
+
+  /**
+   * 排序 ID，用于区分时间相同的数据。
+   */
+  private final long id;
+
+  /**
+   * 编码为不透明的游标字符串。
+   *
+   * @return 游标字符串
+   */
+  public String encode() {
+    String raw = LocalDateTimeUtil.formatNormal(time) + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 解码游标字符串。
+   *
+   * @param cursor 游标字符串
+   * @return 游标
+   * @throws BadRequestException 当游标格式错误时抛出
+   */
+  public static PagingCursor decode(String cursor) throws BadRequestException {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      List<String> parts = StrUtil.split(raw, SEPARATOR);
+      if (parts.size() != 2) throw new BadRequestException("游标格式错误");
+
+      LocalDateTime time = LocalDateTimeUtil.parse(parts.get(0), "yyyy-MM-dd HH:mm:ss");
+      long id = Long.parseLong(parts.get(1));
+      return new PagingCursor(time, id);
+    } catch (BadRequestException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new BadRequestException("游标格式错误", e);
+    }
+  }
+}
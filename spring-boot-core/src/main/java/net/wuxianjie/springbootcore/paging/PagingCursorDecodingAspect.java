@@ -0,0 +1,44 @@
+package net.wuxianjie.springbootcore.paging;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 自动解码游标分页查询参数中的游标。
+ *
+ * @author 吴仙杰
+ * @see RequestOfCursorPaging
+ */
+@Aspect
+@Component
+public class PagingCursorDecodingAspect {
+
+  @Pointcut("execution(public net.wuxianjie.springbootcore.paging.ResultOfCursorPaging *..*Controller.*(net.wuxianjie.springbootcore.paging.RequestOfCursorPaging, ..))")
+  public void cursorPagingSearchPointcut() {
+  }
+
+  /**
+   * 匹配所有符合以下条件的方法：
+   * <ol>
+   *     <li>类名后缀为 Controller</li>
+   *     <li>方法的访问修饰符为 public</li>
+   *     <li>方法的第一个参数为 {@link RequestOfCursorPaging}</li>
+   *     <li>方法的返回值为 {@link ResultOfCursorPaging}</li>
+   * </ol>
+   *
+   * @param joinPoint {@link JoinPoint}
+   */
+  @Before("cursorPagingSearchPointcut()")
+  public void beforeCallGetByCursor(JoinPoint joinPoint) {
+    Optional.ofNullable(joinPoint.getArgs())
+      .ifPresent(args -> Arrays.stream(args)
+        .filter(RequestOfCursorPaging.class::isInstance)
+        .forEach(arg -> ((RequestOfCursorPaging) arg).setCursorFields()));
+  }
+}
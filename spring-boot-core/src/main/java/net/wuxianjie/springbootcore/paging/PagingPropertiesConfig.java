@@ -0,0 +1,27 @@
+package net.wuxianjie.springbootcore.paging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * 分页配置属性配置类。
+ *
+ * @author 吴仙杰
+ * @see PagingTotalCounter
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "core.paging")
+public class PagingPropertiesConfig {
+
+  /**
+   * {@link PagingTotalMode#CACHED} 模式下总数的缓存时间，单位秒。
+   */
+  @Min(message = "总数缓存时间不能小于 1 秒", value = 1)
+  private int totalCacheTtlSeconds = 30;
+}
@@ -0,0 +1,55 @@
+package net.wuxianjie.springbootcore.paging;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.TimedCache;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 按 {@link PagingTotalMode} 统计总数，并构造分页查询结果。
+ *
+ * @author 吴仙杰
+ * @see RequestOfPaging#getLimit()
+ */
+@Component
+public class PagingTotalCounter {
+
+  private final TimedCache<String, Long> totalCache;
+
+  public PagingTotalCounter(PagingPropertiesConfig pagingConfig) {
+    this.totalCache = CacheUtil.newTimedCache(pagingConfig.getTotalCacheTtlSeconds() * 1000L);
+    // 定时清理过期的缓存项，避免不再使用的查询条件一直占用内存
+    this.totalCache.schedulePrune(pagingConfig.getTotalCacheTtlSeconds() * 1000L);
+  }
+
+  /**
+   * 构造分页查询结果。
+   *
+   * @param paging    分页参数，{@link PagingTotalMode#NONE} 模式下应按 {@link RequestOfPaging#getLimit()} 查询数据
+   * @param rows      查询到的数据
+   * @param signature 查询条件的签名，用于区分不同查询条件的缓存总数，例如 {@code "users:" + query}
+   * @param counter   执行 COUNT 查询
+   * @param <E>       列表项类型
+   * @return 分页查询结果
+   */
+  public <E> ResultOfPaging<E> toResult(RequestOfPaging paging,
+                                        List<E> rows,
+                                        String signature,
+                                        Supplier<? extends Number> counter) {
+    switch (paging.getTotalModeOrDefault()) {
+      case NONE:
+        int pageSize = paging.getPageSize();
+        boolean hasMore = rows.size() > pageSize;
+        List<E> list = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        return new ResultOfPaging<>(paging, null, hasMore, list);
+      case CACHED:
+        long cachedTotal = totalCache.get(signature, false, () -> counter.get().longValue());
+        return new ResultOfPaging<>(paging, cachedTotal, rows);
+      default:
+        return new ResultOfPaging<>(paging, counter.get().longValue(), rows);
+    }
+  }
+}
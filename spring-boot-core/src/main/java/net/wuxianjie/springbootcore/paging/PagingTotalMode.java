@@ -0,0 +1,61 @@
+package net.wuxianjie.springbootcore.paging;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 分页查询时总数的统计方式。
+ *
+ * @author 吴仙杰
+ * @see RequestOfPaging
+ * @see PagingTotalCounter
+ */
+@Getter
+@Accessors(fluent = true)
+@ToString
+@RequiredArgsConstructor
+public enum PagingTotalMode {
+
+  /**
+   * 每次都执行 COUNT 查询，返回精确的总数。
+   */
+  EXACT(0),
+
+  /**
+   * 不统计总数，仅通过多查询一条数据判断是否还有下一页。
+   */
+  NONE(1),
+
+  /**
+   * 按查询条件缓存 COUNT 查询结果，在缓存有效期内返回的总数可能不是最新的。
+   */
+  CACHED(2);
+
+  private static final PagingTotalMode[] VALUES;
+
+  static {
+    VALUES = values();
+  }
+
+  @JsonValue
+  private final int value;
+
+  /**
+   * 将整数值解析为枚举常量。
+   *
+   * @param value 整数值
+   * @return {@link PagingTotalMode} 的 {@link Optional} 包装对象
+   */
+  public static Optional<PagingTotalMode> resolve(Integer value) {
+    return Optional.ofNullable(value)
+      .flatMap(val -> Arrays.stream(VALUES)
+        .filter(mode -> value == mode.value)
+        .findFirst());
+  }
+}
@@ -0,0 +1,85 @@
+package net.wuxianjie.springbootcore.paging;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Setter;
+import net.wuxianjie.springbootcore.exception.BadRequestException;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * 游标分页查询参数。
+ *
+ * <p>
+ * 与 {@link RequestOfPaging} 不同，无论翻到第几页，数据库都只需从游标位置开始读取 {@code pageSize + 1} 条数据，
+ * 而无需扫描并丢弃之前的所有数据，例如：
+ * </p>
+ *
+ * <p>
+ * {@code WHERE (time < #{p.cursorTime} OR (time = #{p.cursorTime} AND id < #{p.cursorId})) ORDER BY time DESC, id DESC LIMIT #{p.limit}}
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see ResultOfCursorPaging
+ * @see PagingCursorDecodingAspect
+ */
+@Data
+public class RequestOfCursorPaging {
+
+  /**
+   * 游标，即上一页返回的 {@link ResultOfCursorPaging#getNextCursor()}，为空时代表获取第一页。
+   */
+  private String cursor;
+
+  /**
+   * 每页条数。
+   */
+  @NotNull(message = "每页条数不能为 null")
+  @Min(message = "每页条数不能小于 1", value = 1)
+  private Integer pageSize;
+
+  /**
+   * 游标中的排序时间，获取第一页时为 null。
+   *
+   * @see PagingCursorDecodingAspect
+   */
+  @Setter(AccessLevel.NONE)
+  private LocalDateTime cursorTime;
+
+  /**
+   * 游标中的排序 ID，获取第一页时为 null。
+   *
+   * @see PagingCursorDecodingAspect
+   */
+  @Setter(AccessLevel.NONE)
+  private Long cursorId;
+
+  /**
+   * 解码游标，并填充 {@link #cursorTime} 及 {@link #cursorId}。
+   *
+   * @throws BadRequestException 当游标格式错误时抛出
+   */
+  public void setCursorFields() throws BadRequestException {
+    if (StrUtil.isBlank(cursor)) {
+      cursorTime = null;
+      cursorId = null;
+      return;
+    }
+
+    PagingCursor decoded = PagingCursor.decode(cursor.trim());
+    cursorTime = decoded.getTime();
+    cursorId = decoded.getId();
+  }
+
+  /**
+   * 实际查询的条数，比每页条数多一条，以便判断是否还有下一页。
+   *
+   * @return {@code pageSize + 1}
+   */
+  public int getLimit() {
+    return pageSize + 1;
+  }
+}
@@ -3,6 +3,7 @@ package net.wuxianjie.springbootcore.paging;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Setter;
+import net.wuxianjie.springbootcore.validator.EnumValidator;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
@@ -13,6 +14,7 @@ import javax.validation.constraints.NotNull;
  * @author 吴仙杰
  * @see ResultOfPaging
  * @see PagingOffsetFieldPaddingAspect
+ * @see PagingTotalCounter
  */
 @Data
 public class RequestOfPaging {
@@ -31,6 +33,14 @@ public class RequestOfPaging {
   @Min(message = "每页条数不能小于 1", value = 1)
   private Integer pageSize;
 
+  /**
+   * 总数统计方式，为 null 时默认为 {@link PagingTotalMode#EXACT}。
+   *
+   * @see PagingTotalMode
+   */
+  @EnumValidator(message = "总数统计方式不合法", value = PagingTotalMode.class)
+  private Integer totalMode;
+
   /**
    * MySQL、SQLite 等数据库的偏移量 OFFSET。
    *
@@ -50,4 +60,26 @@ public class RequestOfPaging {
   public void setOffset() {
     offset = (pageNo - 1) * pageSize;
   }
+
+  /**
+   * 获取总数统计方式。
+   *
+   * @return 总数统计方式，默认为 {@link PagingTotalMode#EXACT}
+   */
+  public PagingTotalMode getTotalModeOrDefault() {
+    return PagingTotalMode.resolve(totalMode).orElse(PagingTotalMode.EXACT);
+  }
+
+  /**
+   * 实际查询的条数：{@link PagingTotalMode#NONE} 模式下比每页条数多一条，以便判断是否还有下一页，例如：
+   *
+   * <p>
+   * {@code SELECT * FROM table_name LIMIT #{offset}, #{limit}}
+   * </p>
+   *
+   * @return 实际查询的条数
+   */
+  public int getLimit() {
+    return getTotalModeOrDefault() == PagingTotalMode.NONE ? pageSize + 1 : pageSize;
+  }
 }
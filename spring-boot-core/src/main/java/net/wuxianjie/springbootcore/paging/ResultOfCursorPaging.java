@@ -0,0 +1,55 @@
+package net.wuxianjie.springbootcore.paging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页查询结果。
+ *
+ * @param <E> 列表项类型
+ * @author 吴仙杰
+ * @see RequestOfCursorPaging
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultOfCursorPaging<E> {
+
+  /**
+   * 每页条数。
+   */
+  private int pageSize;
+
+  /**
+   * 获取下一页时需要传入的游标，为 null 时代表已没有下一页。
+   */
+  private String nextCursor;
+
+  /**
+   * 具体数据列表。
+   */
+  private List<E> list;
+
+  /**
+   * 根据按 {@link RequestOfCursorPaging#getLimit()} 查询到的数据构造分页结果。
+   *
+   * @param paging   游标分页参数
+   * @param rows     按 {@code pageSize + 1} 查询到的数据
+   * @param cursorOf 获取列表项的排序键
+   */
+  public ResultOfCursorPaging(RequestOfCursorPaging paging, List<E> rows, Function<E, PagingCursor> cursorOf) {
+    this.pageSize = paging.getPageSize();
+
+    if (rows.size() <= pageSize) {
+      this.list = rows;
+      return;
+    }
+
+    this.list = rows.subList(0, pageSize);
+    this.nextCursor = cursorOf.apply(list.get(pageSize - 1)).encode();
+  }
+}
@@ -30,9 +30,14 @@ public class ResultOfPaging<E> {
   private int pageSize;
 
   /**
-   * 总数。
+   * 总数，{@link PagingTotalMode#NONE} 模式下为 null。
    */
-  private long total;
+  private Long total;
+
+  /**
+   * 是否还有下一页。
+   */
+  private Boolean hasMore;
 
   /**
    * 具体数据列表。
@@ -40,9 +45,21 @@ public class ResultOfPaging<E> {
   private List<E> list;
 
   public ResultOfPaging(RequestOfPaging paging, long total, List<E> list) {
+    this(paging, total, getOffset(paging) + list.size() < total, list);
+  }
+
+  public ResultOfPaging(RequestOfPaging paging, Long total, Boolean hasMore, List<E> list) {
     this.pageNo = paging.getPageNo();
     this.pageSize = paging.getPageSize();
     this.total = total;
+    this.hasMore = hasMore;
     this.list = list;
   }
+
+  private static long getOffset(RequestOfPaging paging) {
+    // 未经 PagingOffsetFieldPaddingAspect 填充时偏移量为 null，此时由页码及每页条数计算
+    if (paging.getOffset() != null) return paging.getOffset();
+
+    return (long) (paging.getPageNo() - 1) * paging.getPageSize();
+  }
 }
@@ -1,8 +1,10 @@
 package net.wuxianjie.springbootcore.rest;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.charset.StandardCharsets;
@@ -14,8 +16,17 @@ import java.util.List;
  * @author 吴仙杰
  */
 @Configuration
+@RequiredArgsConstructor
 public class ApiConfig implements WebMvcConfigurer {
 
+  private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    // 支持 @ConditionalGet 接口的 If-None-Match 条件请求
+    registry.addInterceptor(conditionalGetInterceptor);
+  }
+
   @Override
   public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
     // 当响应结果涉及 JSON 序列化时，设置默认编码为 UTF-8
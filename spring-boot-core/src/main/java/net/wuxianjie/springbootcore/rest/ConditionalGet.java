@@ -0,0 +1,29 @@
+package net.wuxianjie.springbootcore.rest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注支持条件请求（{@code If-None-Match}）的 GET 接口。
+ *
+ * <p>
+ * ETag 由所依赖资源的版本号、当前用户及请求参数计算而来，故无需执行接口方法即可判断响应结果是否变化：
+ * 未变化时直接返回 304，既不查询数据库也不进行 JSON 序列化。修改资源后需调用 {@link ResourceVersions#bump(String)}。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see ConditionalGetInterceptor
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+  /**
+   * 响应结果所依赖的资源名称，为空时代表响应结果只取决于当前用户及请求参数。
+   *
+   * @return 资源名称
+   */
+  String[] value() default {};
+}
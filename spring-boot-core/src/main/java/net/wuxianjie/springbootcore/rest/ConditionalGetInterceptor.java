@@ -0,0 +1,106 @@
+package net.wuxianjie.springbootcore.rest;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import net.wuxianjie.springbootcore.security.AuthenticationUtils;
+import net.wuxianjie.springbootcore.security.TokenUserDetails;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Optional;
+
+/**
+ * 处理 {@link ConditionalGet} 接口的条件请求：在执行接口方法前计算 ETag，与 {@code If-None-Match} 匹配时直接返回 304。
+ *
+ * <p>
+ * 不匹配时将 ETag 保存至请求属性中，由 {@link GlobalResponseBodyAdvice} 在成功响应时写入响应头。
+ * </p>
+ *
+ * <p>
+ * 返回 304 前需通过所有 {@link HandlerAccessChecker} 的检查，否则照常执行接口方法，由其权限切面拒绝访问。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+  /**
+   * 保存待写入响应头的 ETag 的请求属性名。
+   */
+  static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".ETAG";
+
+  /**
+   * 响应结果因用户而异，故只允许客户端私有缓存，且每次使用前都需重新验证。
+   */
+  static final String CACHE_CONTROL_VALUE = "private, no-cache";
+
+  private final ResourceVersions resourceVersions;
+  private final ObjectProvider<HandlerAccessChecker> accessCheckers;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!(handler instanceof HandlerMethod)) return true;
+
+    HandlerMethod handlerMethod = (HandlerMethod) handler;
+    ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+    if (conditionalGet == null || !HttpMethod.GET.matches(request.getMethod())) return true;
+
+    // 无权访问时不可返回 304，否则会绕过接口方法上的权限检查
+    boolean canAccess = accessCheckers.orderedStream().allMatch(checker -> checker.canAccess(handlerMethod));
+    if (!canAccess) return true;
+
+    String etag = computeETag(request, conditionalGet.value());
+    if (matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      response.setHeader(HttpHeaders.ETAG, etag);
+      response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_VALUE);
+      return false;
+    }
+
+    request.setAttribute(ETAG_ATTRIBUTE, etag);
+    return true;
+  }
+
+  private String computeETag(HttpServletRequest request, String[] resources) {
+    StringBuilder etag = new StringBuilder("\"");
+    for (String resource : resources) {
+      etag.append(resourceVersions.current(resource)).append('.');
+    }
+
+    // 用户名及角色不同时，响应结果可能不同（例如可见的数据或菜单）
+    Optional<TokenUserDetails> user = AuthenticationUtils.getCurrentUser();
+    String discriminator = StrUtil.format("{}\n{}\n{}?{}",
+      user.map(TokenUserDetails::getUsername).orElse(""),
+      user.map(TokenUserDetails::getRoles).orElse(""),
+      request.getRequestURI(),
+      StrUtil.nullToEmpty(request.getQueryString()));
+
+    return etag.append(Long.toHexString(MurmurHash.hash64(discriminator)))
+      .append('"')
+      .toString();
+  }
+
+  private boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+    if (StrUtil.isBlank(ifNoneMatch)) return false;
+
+    for (String candidate : ifNoneMatch.split(",")) {
+      // 不支持 *：接口结果因用户而异，只有与本次计算的 ETag 一致才可返回 304
+      String trimmed = candidate.strip();
+
+      // 弱比较：忽略 W/ 前缀
+      if (trimmed.startsWith("W/")) trimmed = trimmed.substring(2);
+      if (trimmed.equals(etag)) return true;
+    }
+
+    return false;
+  }
+}
@@ -12,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
@@ -63,6 +64,20 @@ public class GlobalResponseBodyAdvice implements ResponseBodyAdvice<Object> {
     if (isRestApiResult || isBytes || isResource) return body;
 
     // 其他情况一律包装为 JSON
-    return ApiResultWrapper.success(body);
+    ApiResult<Object> result = ApiResultWrapper.success(body);
+    writeETag(request, response);
+    return result;
+  }
+
+  private void writeETag(ServerHttpRequest request, ServerHttpResponse response) {
+    // 只有成功包装的响应结果才写入由 ConditionalGetInterceptor 预先计算的 ETag，错误响应则不写入
+    if (!(request instanceof ServletServerHttpRequest)) return;
+
+    Object etag = ((ServletServerHttpRequest) request).getServletRequest()
+      .getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+    if (etag == null) return;
+
+    response.getHeaders().setETag((String) etag);
+    response.getHeaders().setCacheControl(ConditionalGetInterceptor.CACHE_CONTROL_VALUE);
   }
 }
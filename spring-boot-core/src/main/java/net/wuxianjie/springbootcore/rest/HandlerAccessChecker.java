@@ -0,0 +1,24 @@
+package net.wuxianjie.springbootcore.rest;
+
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * 接口方法的访问权限检查接口，由应用根据自身的权限注解实现。
+ *
+ * <p>
+ * {@link ConditionalGetInterceptor} 在返回 304 前调用，因为 304 不会执行接口方法，也就不会经过接口方法上的权限切面。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see ConditionalGetInterceptor
+ */
+public interface HandlerAccessChecker {
+
+  /**
+   * 检查当前用户是否有权访问接口方法。
+   *
+   * @param handler 接口方法
+   * @return 有权访问则返回 true，否则返回 false（由接口方法上的权限切面返回 403）
+   */
+  boolean canAccess(HandlerMethod handler);
+}
@@ -0,0 +1,30 @@
+package net.wuxianjie.springbootcore.rest;
+
+/**
+ * 资源的版本号接口，每次修改资源后递增，用于计算 {@link ConditionalGet} 接口的 ETag。
+ *
+ * <p>
+ * 每次条件请求都会调用 {@link #current(String)}，实现类应只读取内存，不可访问数据库。
+ * 版本号需在修改资源的事务提交后才改变，否则其他请求可能将旧数据绑定到新版本号上，导致客户端一直使用过时的缓存。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see ConditionalGetInterceptor
+ */
+public interface ResourceVersions {
+
+  /**
+   * 获取资源的当前版本号。
+   *
+   * @param resource 资源名称
+   * @return 当前版本号
+   */
+  long current(String resource);
+
+  /**
+   * 递增资源的版本号，应在修改资源的同一事务中调用，事务提交后新版本号才生效。
+   *
+   * @param resource 资源名称
+   */
+  void bump(String resource);
+}
@@ -1,10 +1,16 @@
 package net.wuxianjie.springbootcore.security;
 
+import cn.hutool.core.util.StrUtil;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,6 +21,11 @@ import java.util.Optional;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class AuthenticationUtils {
 
+  /**
+   * Spring Security 要求角色名必须是大写，且以 ROLE_ 为前缀
+   */
+  private static final String ROLE_PREFIX = "ROLE_";
+
   /**
    * 获取已通过 Token 身份验证后的用户详细数据。
    *
@@ -34,4 +45,29 @@ public class AuthenticationUtils {
         return (TokenUserDetails) auth.getPrincipal();
       });
   }
+
+  /**
+   * 将以英文逗号分隔的角色字符串转换为 Spring Security 的权限列表。
+   *
+   * <p>
+   * 推荐在登录时调用一次并保存结果，而不是在每次请求时调用。
+   * </p>
+   *
+   * @param commaSeparatedRoles 以英文逗号分隔的角色字符串
+   * @return 不可变的权限列表，若 {@code commaSeparatedRoles} 为空，则返回空列表
+   */
+  public static List<GrantedAuthority> toAuthorities(String commaSeparatedRoles) {
+    if (StrUtil.isBlank(commaSeparatedRoles)) return Collections.emptyList();
+
+    String[] roles = commaSeparatedRoles.split(",");
+    List<GrantedAuthority> authorities = new ArrayList<>(roles.length);
+    for (String role : roles) {
+      String trimmedRole = role.strip();
+      if (trimmedRole.isEmpty()) continue;
+
+      authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + trimmedRole.toUpperCase()));
+    }
+
+    return Collections.unmodifiableList(authorities);
+  }
 }
@@ -1,5 +1,7 @@
 package net.wuxianjie.springbootcore.security;
 
+import cn.hutool.core.util.StrUtil;
+import net.wuxianjie.springbootcore.util.JwtCodec;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -22,4 +24,20 @@ public class SecurityConfig {
   public PasswordEncoder passwordEncoder() {
     return new BCryptPasswordEncoder();
   }
+
+  /**
+   * 基于已配置签名密钥的 JWT 签名及验证器。
+   *
+   * @param securityConfig 安全配置属性
+   * @return {@link JwtCodec}
+   */
+  @Bean
+  public JwtCodec jwtCodec(SecurityPropertiesConfig securityConfig) {
+    String previousSigningKey = StrUtil.trimToNull(securityConfig.getPreviousJwtSigningKey());
+    if (previousSigningKey == null) return new JwtCodec(securityConfig.getJwtSigningKey());
+
+    JwtCodec jwtCodec = new JwtCodec(previousSigningKey);
+    jwtCodec.rotateSigningKey(securityConfig.getJwtSigningKey());
+    return jwtCodec;
+  }
 }
@@ -25,8 +25,19 @@ public class SecurityPropertiesConfig {
   @NotBlank(message = "JWT 签名密钥不能为空")
   private String jwtSigningKey;
 
+  /**
+   * 轮换前的 JWT 签名密钥，仅用于验证轮换前签发且尚未过期的 JWT，可为空。
+   */
+  private String previousJwtSigningKey;
+
   /**
    * 无需验证即可访问的请求路径，多个路径以英文逗号分隔，支持 AntPathMatcher 的匹配模式。
    */
   private String permitAllAntPatterns;
+
+  /**
+   * 允许访问 {@code /actuator/**} 的角色名，不包含 ROLE_ 前缀，默认为 root。
+   */
+  @NotBlank(message = "Actuator 访问角色不能为空")
+  private String actuatorRole = "root";
 }
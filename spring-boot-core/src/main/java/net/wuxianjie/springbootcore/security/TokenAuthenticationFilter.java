@@ -1,8 +1,8 @@
 package net.wuxianjie.springbootcore.security;
 
-import cn.hutool.core.util.StrUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import net.wuxianjie.springbootcore.exception.TokenAuthenticationException;
 import net.wuxianjie.springbootcore.rest.ApiResultWrapper;
@@ -10,8 +10,6 @@ import net.wuxianjie.springbootcore.util.NetUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,19 +19,19 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Token 身份验证过滤器。
  *
+ * <p>
+ * Token 身份验证的耗时记录在 {@value #AUTHENTICATION_TIMER_NAME} 指标中，并按验证结果（{@code outcome}）区分。
+ * </p>
+ *
  * @author 吴仙杰
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
   /**
@@ -42,32 +40,58 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
   private static final String BEARER_PREFIX = "Bearer ";
 
   /**
-   * Spring Security 要求角色名必须是大写，且以 ROLE_ 为前缀
+   * Token 身份验证耗时的指标名称。
    */
-  private static final String ROLE_PREFIX = "ROLE_";
+  static final String AUTHENTICATION_TIMER_NAME = "core.token.authentication";
 
   private final ObjectMapper objectMapper;
   private final TokenService tokenService;
 
+  private final Timer anonymousTimer;
+  private final Timer successTimer;
+  private final Timer unauthorizedTimer;
+  private final Timer errorTimer;
+
+  public TokenAuthenticationFilter(ObjectMapper objectMapper,
+                                   TokenService tokenService,
+                                   MeterRegistry meterRegistry) {
+    this.objectMapper = objectMapper;
+    this.tokenService = tokenService;
+    this.anonymousTimer = createTimer(meterRegistry, "anonymous");
+    this.successTimer = createTimer(meterRegistry, "success");
+    this.unauthorizedTimer = createTimer(meterRegistry, "unauthorized");
+    this.errorTimer = createTimer(meterRegistry, "error");
+  }
+
   @Override
   protected void doFilterInternal(HttpServletRequest request,
                                   HttpServletResponse response,
                                   FilterChain filterChain) throws IOException, ServletException {
-    Optional<String> tokenOpt = getTokenFromRequestHeader(request);
-    if (tokenOpt.isEmpty()) {
+    long start = System.nanoTime();
+
+    String token = getTokenFromRequestHeader(request);
+    if (token == null) {
+      anonymousTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
       filterChain.doFilter(request, response);
       return;
     }
 
     try {
-      TokenUserDetails user = tokenService.authenticate(tokenOpt.get());
+      TokenUserDetails user = tokenService.authenticate(token);
       loginToSpringSecurityContext(user);
+
+      successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     } catch (TokenAuthenticationException e) {
+      unauthorizedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
       SecurityContextHolder.clearContext();
 
       sendToResponse(response, e.getMessage(), HttpStatus.UNAUTHORIZED);
       return;
     } catch (Throwable e) {
+      errorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
       String message = "Token 身份验证异常";
       log.error(
         message + "，客户端信息：uri={};client={}",
@@ -103,36 +127,42 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
     response.getWriter().write(json);
   }
 
-  private Optional<String> getTokenFromRequestHeader(HttpServletRequest request) {
-    return Optional.ofNullable(StrUtil.trim(request.getHeader(HttpHeaders.AUTHORIZATION)))
-      .map(bearer -> {
-        boolean isNotBearerString = !StrUtil.startWith(bearer, BEARER_PREFIX);
-        if (isNotBearerString) return null;
+  /**
+   * 从请求头中提取 Token，除了 Token 字符串本身外不创建其他中间对象。
+   *
+   * @param request {@link HttpServletRequest}
+   * @return Token，若请求头中不存在合法的 Bearer Token，则返回 null
+   */
+  private String getTokenFromRequestHeader(HttpServletRequest request) {
+    String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (header == null) return null;
+
+    int start = 0;
+    int end = header.length();
+    while (start < end && Character.isWhitespace(header.charAt(start))) start++;
+
+    boolean isNotBearerString = !header.startsWith(BEARER_PREFIX, start);
+    if (isNotBearerString) return null;
+
+    start += BEARER_PREFIX.length();
+    while (start < end && Character.isWhitespace(header.charAt(start))) start++;
+    while (end > start && Character.isWhitespace(header.charAt(end - 1))) end--;
 
-        return StrUtil.trimToNull(StrUtil.subAfter(bearer, BEARER_PREFIX, false));
-      });
+    if (start == end) return null;
+
+    return header.substring(start, end);
   }
 
   private void loginToSpringSecurityContext(TokenUserDetails user) {
-    List<GrantedAuthority> authorities = getAuthorities(user.getRoles());
-    UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(user, null, authorities);
+    // 权限列表已在登录时预先构建
+    UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
     SecurityContextHolder.getContext().setAuthentication(token);
   }
 
-  private List<GrantedAuthority> getAuthorities(String commaSeparatedRoles) {
-    return Optional.ofNullable(StrUtil.trimToNull(commaSeparatedRoles))
-      .map(r -> {
-        String roles = Arrays.stream(r.split(","))
-          .reduce("", (roleOne, roleTwo) -> {
-            String appended = ROLE_PREFIX + roleTwo.strip().toUpperCase();
-
-            if (StrUtil.isEmpty(roleOne)) return appended;
-
-            return roleOne + "," + appended;
-          });
-
-        return AuthorityUtils.commaSeparatedStringToAuthorityList(roles);
-      })
-      .orElse(Collections.emptyList());
+  private static Timer createTimer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder(AUTHENTICATION_TIMER_NAME)
+      .description("Token 身份验证耗时")
+      .tag("outcome", outcome)
+      .register(meterRegistry);
   }
 }
@@ -0,0 +1,49 @@
+package net.wuxianjie.springbootcore.security;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * 已登录用户的 Token 存储接口，以用户名为键，每个用户仅保留最近一次登录（或刷新）的 Token。
+ *
+ * <p>
+ * 实现类负责在 Token 过期后使其失效。只在当前进程内存储的实现重启后会使全部用户退出登录，
+ * 持久化或共享的实现则可供多个实例共同使用，但应在前面放置进程内的近端缓存，以免每次请求都访问外部存储。
+ * </p>
+ *
+ * @param <T> 用户详细数据的类型
+ * @author 吴仙杰
+ * @see TokenService
+ */
+public interface TokenStore<T extends TokenUserDetails> {
+
+  /**
+   * 获取已登录用户的详细数据。
+   *
+   * @param username 用户名
+   * @return 用户详细数据的 {@link Optional} 包装对象，未登录或 Token 已过期时为空
+   */
+  Optional<T> get(String username);
+
+  /**
+   * 保存已登录用户的详细数据，将覆盖该用户之前的 Token。
+   *
+   * @param userDetails 用户详细数据
+   */
+  void put(T userDetails);
+
+  /**
+   * 移除已登录用户的详细数据，即吊销该用户的 Token。
+   *
+   * @param username 用户名
+   */
+  void remove(String username);
+
+  /**
+   * 若用户已登录，则使用 {@code remapping} 的结果替换其详细数据，且不改变 Token 的过期时间。
+   *
+   * @param username  用户名
+   * @param remapping 由旧的用户详细数据生成新的用户详细数据
+   */
+  void replaceIfPresent(String username, UnaryOperator<T> remapping);
+}
@@ -1,5 +1,9 @@
 package net.wuxianjie.springbootcore.security;
 
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
 /**
  * Token 身份验证所需的用户详细数据接口。
  *
@@ -42,4 +46,18 @@ public interface TokenUserDetails {
    * @return Refresh Token
    */
   String getRefreshToken();
+
+  /**
+   * 获取 Spring Security 的权限列表，即由 {@link #getRoles()} 转换而来的角色。
+   *
+   * <p>
+   * 默认每次调用时都会重新转换，实现类应在登录时预先构建好不可变的权限列表并覆盖该方法。
+   * </p>
+   *
+   * @return 权限列表
+   * @see AuthenticationUtils#toAuthorities(String)
+   */
+  default List<GrantedAuthority> getAuthorities() {
+    return AuthenticationUtils.toAuthorities(getRoles());
+  }
 }
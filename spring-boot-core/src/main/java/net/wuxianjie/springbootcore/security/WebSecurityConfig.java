@@ -42,6 +42,11 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
   private static final String FAVICON_PATH = "/favicon.ico";
 
+  /**
+   * Spring Boot Actuator 端点的路径模式。
+   */
+  private static final String ACTUATOR_PATTERN = "/actuator/**";
+
   private static final String[] DEFAULT_PERMIT_ALL = {
     ACCESS_TOKEN_PATH,
     REFRESH_TOKEN_PATH_PREFIX + "/{.+}",
@@ -61,6 +66,9 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     http.authorizeRequests()
       .antMatchers(DEFAULT_PERMIT_ALL)
       .permitAll() // principal 为 anonymous
+      // 运行指标及慢 SQL 等内部信息仅限指定角色访问，且优先于可配置的放行路径
+      .antMatchers(ACTUATOR_PATTERN)
+      .hasRole(securityConfig.getActuatorRole().trim().toUpperCase())
       .antMatchers(antPatterns)
       .permitAll()
       // 顺序很重要：匹配全部请求的配置必须位于最后
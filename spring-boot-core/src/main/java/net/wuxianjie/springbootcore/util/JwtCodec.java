@@ -0,0 +1,132 @@
+package net.wuxianjie.springbootcore.util;
+
+import cn.hutool.core.date.DateUtil;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import net.wuxianjie.springbootcore.exception.TokenAuthenticationException;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 可复用且线程安全的 JSON Web Token 签名及验证器。
+ *
+ * <p>
+ * 签名密钥只在创建或轮换时解析一次，并预先构建好 {@link JwtParser}，故每次生成或验证 JWT 时只需执行 HMAC 计算及载荷解析。
+ * </p>
+ *
+ * <p>
+ * 轮换签名密钥后，新 JWT 使用新密钥签名，而由上一个密钥签名且尚未过期的 JWT 仍可通过验证。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see JwtUtils
+ */
+public class JwtCodec {
+
+  /**
+   * 当前用于签名及验证的密钥。
+   */
+  private volatile SigningKey current;
+
+  /**
+   * 轮换前的密钥，仅用于验证，可为 null。
+   */
+  private volatile SigningKey previous;
+
+  /**
+   * 构造 JWT 签名及验证器。
+   *
+   * @param signingKey Base64 字符串格式的 JWT 签名密钥
+   */
+  public JwtCodec(String signingKey) {
+    this.current = new SigningKey(signingKey);
+  }
+
+  /**
+   * 生成一个 JSON Web Token。
+   *
+   * @param payload          JWT 中的有效载荷
+   * @param expiresInSeconds JWT 的过期时间，单位秒
+   * @return JWT
+   */
+  public String createJwt(Map<String, Object> payload, int expiresInSeconds) {
+    Date now = new Date();
+    return Jwts.builder()
+      .setClaims(payload)
+      .setNotBefore(now)
+      .setExpiration(DateUtil.offsetSecond(now, expiresInSeconds))
+      .signWith(current.secretKey)
+      .compact();
+  }
+
+  /**
+   * 验证 JWT 有效期，并返回 JWT 的有效载荷（即解析结果）。
+   *
+   * @param jwt JWT
+   * @return JWT 中的有效载荷
+   * @throws TokenAuthenticationException 当 JWT 验证不通过时抛出
+   */
+  public Map<String, Object> verifyJwt(String jwt) throws TokenAuthenticationException {
+    SigningKey currentKey = current;
+    SigningKey previousKey = previous;
+
+    try {
+      return parse(currentKey, jwt);
+    } catch (SignatureException e) {
+      // 若为轮换前的密钥所签名，则继续使用旧密钥验证
+      if (previousKey == null) throw new TokenAuthenticationException("Token 签名密钥不匹配", e);
+
+      try {
+        return parse(previousKey, jwt);
+      } catch (SignatureException ex) {
+        throw new TokenAuthenticationException("Token 签名密钥不匹配", ex);
+      }
+    }
+  }
+
+  /**
+   * 轮换签名密钥：新密钥用于之后的签名及验证，当前密钥保留为仅用于验证的旧密钥。
+   *
+   * @param newSigningKey Base64 字符串格式的新 JWT 签名密钥
+   */
+  public synchronized void rotateSigningKey(String newSigningKey) {
+    if (current.signingKey.equals(newSigningKey)) return;
+
+    SigningKey newKey = new SigningKey(newSigningKey);
+    previous = current;
+    current = newKey;
+  }
+
+  private Map<String, Object> parse(SigningKey key, String jwt) throws TokenAuthenticationException {
+    try {
+      Claims claims = key.parser.parseClaimsJws(jwt).getBody();
+      return new HashMap<>(claims);
+    } catch (MalformedJwtException e) {
+      throw new TokenAuthenticationException("Token 格式错误", e);
+    } catch (ExpiredJwtException e) {
+      throw new TokenAuthenticationException("Token 已过期", e);
+    }
+  }
+
+  private static class SigningKey {
+
+    private final String signingKey;
+    private final SecretKey secretKey;
+    private final JwtParser parser;
+
+    private SigningKey(String signingKey) {
+      if (signingKey == null) throw new IllegalArgumentException("signingKey 不能为 null");
+
+      this.signingKey = signingKey;
+      this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(signingKey));
+      this.parser = Jwts.parserBuilder()
+        .setSigningKey(secretKey)
+        .build();
+    }
+  }
+}
@@ -1,28 +1,37 @@
 package net.wuxianjie.springbootcore.util;
 
-import cn.hutool.core.date.DateUtil;
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SignatureException;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import net.wuxianjie.springbootcore.exception.TokenAuthenticationException;
 
 import javax.crypto.SecretKey;
-import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * JSON Web Token 工具类。
  *
+ * <p>
+ * 按签名密钥缓存 {@link JwtCodec}，故相同密钥只会解析一次。对于热点路径，推荐直接注入 {@link JwtCodec} Bean。
+ * </p>
+ *
  * @author 吴仙杰
+ * @see JwtCodec
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class JwtUtils {
 
+  /**
+   * 通常只会有一两个签名密钥（如轮换期间），超过该数量时直接清空，以避免无限增长。
+   */
+  private static final int MAX_CACHED_CODECS = 16;
+
+  private static final ConcurrentMap<String, JwtCodec> CODECS = new ConcurrentHashMap<>();
+
   /**
    * 生成一个新的 JWT 签名密钥（Base64 字符串格式）。
    *
@@ -44,12 +53,7 @@ public class JwtUtils {
   public static String createJwt(String signingKey,
                                  Map<String, Object> payload,
                                  int expiresInSeconds) {
-    return Jwts.builder()
-      .setClaims(payload)
-      .setNotBefore(new Date())
-      .setExpiration(DateUtil.offsetSecond(new Date(), expiresInSeconds))
-      .signWith(createSecretKey(signingKey))
-      .compact();
+    return getCodec(signingKey).createJwt(payload, expiresInSeconds);
   }
 
   /**
@@ -61,25 +65,15 @@ public class JwtUtils {
    * @throws TokenAuthenticationException 当 JWT 验证不通过时抛出
    */
   public static Map<String, Object> verifyJwt(String signingKey, String jwt) throws TokenAuthenticationException {
-    try {
-      Claims claims = Jwts.parserBuilder()
-        .setSigningKey(createSecretKey(signingKey))
-        .build()
-        .parseClaimsJws(jwt)
-        .getBody();
-
-      return new HashMap<>(claims);
-    } catch (MalformedJwtException e) {
-      throw new TokenAuthenticationException("Token 格式错误", e);
-    } catch (SignatureException e) {
-      throw new TokenAuthenticationException("Token 签名密钥不匹配", e);
-    } catch (ExpiredJwtException e) {
-      throw new TokenAuthenticationException("Token 已过期", e);
-    }
+    return getCodec(signingKey).verifyJwt(jwt);
   }
 
-  private static SecretKey createSecretKey(String signingKey) {
-    byte[] decode = Decoders.BASE64.decode(signingKey);
-    return Keys.hmacShaKeyFor(decode);
+  private static JwtCodec getCodec(String signingKey) {
+    JwtCodec codec = CODECS.get(signingKey);
+    if (codec != null) return codec;
+
+    if (CODECS.size() >= MAX_CACHED_CODECS) CODECS.clear();
+
+    return CODECS.computeIfAbsent(signingKey, JwtCodec::new);
   }
 }
@@ -26,6 +26,18 @@ public class StringUtils {
       .orElse(null);
   }
 
+  /**
+   * 去除字符串的首尾空白字符，并转换为 SQLite FTS5 全文检索的短语（{@code "value"}），短语中的双引号会被转义。
+   *
+   * @param value 需要转换的原字符串
+   * @return 去除字符串首尾空白字符后的 {@code "value"} 字符串；若 {@code value} 为 null 或仅包含空白字符，则返回 null
+   */
+  public static String toNullableFullTextPhrase(String value) {
+    return Optional.ofNullable(StrUtil.trimToNull(value))
+      .map(v -> "\"" + v.replace("\"", "\"\"") + "\"")
+      .orElse(null);
+  }
+
   /**
    * 认为 null 、空字符串和仅包含空白字符的字符串都相等。例如：
    *
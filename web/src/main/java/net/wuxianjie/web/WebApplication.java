@@ -2,12 +2,14 @@ package net.wuxianjie.web;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Spring Boot 启动类。
  *
  * @author 吴仙杰
  */
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = "net.wuxianjie")
 public class WebApplication {
 
@@ -1,13 +1,11 @@
 package net.wuxianjie.web.loginlog;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import net.wuxianjie.springbootcore.security.SecurityPropertiesConfig;
-import net.wuxianjie.springbootcore.security.TokenData;
-import net.wuxianjie.springbootcore.util.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.wuxianjie.springbootcore.security.TokenStore;
 import net.wuxianjie.springbootcore.util.NetUtils;
-import net.wuxianjie.web.security.TokenAttributes;
+import net.wuxianjie.web.shared.AuditJsonLogger;
+import net.wuxianjie.web.shared.AuditLogMetrics;
 import net.wuxianjie.web.user.CustomUserDetails;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
@@ -16,51 +14,63 @@ import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 登录日志切面类。
  *
+ * <p>
+ * 提交至写入队列的耗时记录在 {@value AuditLogMetrics#ASPECT_TIMER_NAME} 指标中。
+ * </p>
+ *
  * @author 吴仙杰
  */
-@Slf4j
 @Aspect
 @Component
-@RequiredArgsConstructor
 public class LoginLogAspect {
 
-  private final SecurityPropertiesConfig securityConfig;
-  private final Cache<String, CustomUserDetails> tokenCache;
+  private final TokenStore<CustomUserDetails> tokenStore;
   private final LoginLogService loginLogService;
+  private final AuditJsonLogger auditJsonLogger;
+
+  private final Timer submitTimer;
+
+  public LoginLogAspect(TokenStore<CustomUserDetails> tokenStore,
+                        LoginLogService loginLogService,
+                        AuditJsonLogger auditJsonLogger,
+                        MeterRegistry meterRegistry) {
+    this.tokenStore = tokenStore;
+    this.loginLogService = loginLogService;
+    this.auditJsonLogger = auditJsonLogger;
+    this.submitTimer = AuditLogMetrics.aspectTimer(meterRegistry, AuditLogMetrics.LOGIN_LOG, AuditLogMetrics.SUBMIT_PHASE);
+  }
 
-  @Pointcut("execution(public net.wuxianjie.springbootcore.security.TokenData net.wuxianjie.springbootcore.security.TokenController.getToken(..))")
-  public void login() {
+  @Pointcut(value = "execution(public net.wuxianjie.springbootcore.security.TokenData net.wuxianjie.springbootcore.security.TokenService+.getToken(String, String)) && args(username, ..)",
+    argNames = "username")
+  public void login(String username) {
   }
 
   /**
    * 记录登录日志。
    *
-   * @param tokenData Token 身份验证通过后的返回结果
+   * <p>
+   * 直接使用登录时传入的用户名，而无需再解析刚生成的 Access Token；此时用户信息已保存至 Token 存储，故可从中获取用户 ID。
+   * </p>
+   *
+   * @param username 登录成功的用户名
    */
-  @AfterReturning(pointcut = "login()", returning = "tokenData")
-  public void log(TokenData tokenData) {
+  @AfterReturning(pointcut = "login(username)", argNames = "username")
+  public void log(String username) {
     // 请求信息
     Optional<HttpServletRequest> requestOptional = NetUtils.getRequest();
     String requestIp = requestOptional.map(NetUtils::getRealIpAddress).orElse(null);
-    String requestUri = requestOptional.map(HttpServletRequest::getRequestURI).orElse(null);
 
     // 用户信息
-    String accessToken = tokenData.getAccessToken();
-    Map<String, Object> payload = JwtUtils.verifyJwt(securityConfig.getJwtSigningKey(), accessToken);
-    String username = (String) payload.get(TokenAttributes.USERNAME_KEY);
-    Integer userId = Optional.ofNullable(tokenCache.getIfPresent(username))
+    Integer userId = tokenStore.get(username)
       .map(CustomUserDetails::getUserId)
       .orElse(null);
 
-    // 打印到控制台
-    log.info("登录系统，客户端信息：uri={};client={};user={}", requestUri, requestIp, username);
-
     // 保存登录日志数据
     LoginLog logToSave = new LoginLog();
     logToSave.setLoginTime(LocalDateTime.now());
@@ -68,6 +78,11 @@ public class LoginLogAspect {
     logToSave.setUsername(username);
     logToSave.setRequestIp(requestIp);
 
+    // 输出至审计日志文件
+    auditJsonLogger.log(AuditLogMetrics.LOGIN_LOG, logToSave);
+
+    long submitStart = System.nanoTime();
     loginLogService.saveLoginLog(logToSave);
+    submitTimer.record(System.nanoTime() - submitStart, TimeUnit.NANOSECONDS);
   }
 }
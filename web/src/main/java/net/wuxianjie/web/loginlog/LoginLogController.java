@@ -1,17 +1,26 @@
 package net.wuxianjie.web.loginlog;
 
 import lombok.RequiredArgsConstructor;
+import net.wuxianjie.springbootcore.paging.RequestOfCursorPaging;
 import net.wuxianjie.springbootcore.paging.RequestOfPaging;
+import net.wuxianjie.springbootcore.paging.ResultOfCursorPaging;
 import net.wuxianjie.springbootcore.paging.ResultOfPaging;
 import net.wuxianjie.springbootcore.util.StringUtils;
 import net.wuxianjie.springbootcore.util.ParameterUtils;
-import org.springframework.security.access.prepost.PreAuthorize;
+import net.wuxianjie.web.security.RequiresMenu;
+import net.wuxianjie.web.security.RoleOfMenu;
+import net.wuxianjie.web.shared.ExportColumn;
+import net.wuxianjie.web.shared.RequestOfExport;
+import net.wuxianjie.web.shared.StreamingExporter;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 登录日志 API 控制器。
@@ -23,7 +32,16 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class LoginLogController {
 
+  private static final List<ExportColumn<LoginLog>> EXPORT_COLUMNS = List.of(
+    new ExportColumn<>("日志 ID", LoginLog::getLogId),
+    new ExportColumn<>("登录时间", LoginLog::getLoginTime),
+    new ExportColumn<>("用户 ID", LoginLog::getUserId),
+    new ExportColumn<>("用户名", LoginLog::getUsername),
+    new ExportColumn<>("请求 IP", LoginLog::getRequestIp)
+  );
+
   private final LoginLogService loginLogService;
+  private final StreamingExporter streamingExporter;
 
   /**
    * 获取登录日志列表。
@@ -33,7 +51,7 @@ public class LoginLogController {
    * @return 登录日志列表
    */
   @GetMapping("list")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_LOGIN_LOG.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_LOGIN_LOG)
   public ResultOfPaging<LoginLog> getLoginLogs(@Valid RequestOfPaging paging,
                                                @Valid RequestOfGetLoginLog query) {
     setFuzzySearchValue(query);
@@ -41,6 +59,41 @@ public class LoginLogController {
     return loginLogService.getLoginLogs(paging, query);
   }
 
+  /**
+   * 以游标方式获取登录日志列表，翻页时传入上一页返回的 {@code nextCursor}。
+   *
+   * @param paging 游标分页参数
+   * @param query  请求参数
+   * @return 登录日志列表
+   */
+  @GetMapping("list-by-cursor")
+  @RequiresMenu(RoleOfMenu.ROLE_LOGIN_LOG)
+  public ResultOfCursorPaging<LoginLog> getLoginLogsByCursor(@Valid RequestOfCursorPaging paging,
+                                                             @Valid RequestOfGetLoginLog query) {
+    setFuzzySearchValue(query);
+    setStartAndEndTime(query);
+    return loginLogService.getLoginLogsByCursor(paging, query);
+  }
+
+  /**
+   * 以 CSV 或 JSON 行格式导出全部符合条件的登录日志，数据逐行写入响应体。
+   *
+   * @param export   导出参数
+   * @param query    请求参数
+   * @param response {@link HttpServletResponse}
+   * @throws IOException 当写入响应体失败时抛出
+   */
+  @GetMapping("export")
+  @RequiresMenu(RoleOfMenu.ROLE_LOGIN_LOG)
+  public void exportLoginLogs(@Valid RequestOfExport export,
+                              @Valid RequestOfGetLoginLog query,
+                              HttpServletResponse response) throws IOException {
+    setFuzzySearchValue(query);
+    setStartAndEndTime(query);
+    streamingExporter.export(response, export, "login-logs", EXPORT_COLUMNS,
+      handler -> loginLogService.exportLoginLogs(query, handler));
+  }
+
   private void setFuzzySearchValue(RequestOfGetLoginLog query) {
     query.setUsername(StringUtils.toNullableFuzzyString(query.getUsername()));
     query.setRequestIp(StringUtils.toNullableFuzzyString(query.getRequestIp()));
@@ -1,12 +1,20 @@
 package net.wuxianjie.web.loginlog;
 
 import lombok.RequiredArgsConstructor;
+import net.wuxianjie.springbootcore.paging.PagingCursor;
+import net.wuxianjie.springbootcore.paging.PagingTotalCounter;
+import net.wuxianjie.springbootcore.paging.RequestOfCursorPaging;
 import net.wuxianjie.springbootcore.paging.RequestOfPaging;
+import net.wuxianjie.springbootcore.paging.ResultOfCursorPaging;
 import net.wuxianjie.springbootcore.paging.ResultOfPaging;
+import net.wuxianjie.web.partition.LogPartitionManager;
+import net.wuxianjie.web.partition.PartitionedLogTable;
+import net.wuxianjie.web.shared.AsyncBatchWriter;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * 登录日志业务逻辑实现类。
@@ -18,15 +26,17 @@ import java.util.List;
 public class LoginLogService {
 
   private final LoginLogMapper loginLogMapper;
+  private final PagingTotalCounter pagingTotalCounter;
+  private final LogPartitionManager logPartitionManager;
+  private final AsyncBatchWriter<LoginLog> loginLogWriter;
 
   /**
-   * 保存登录日志。
+   * 保存登录日志：放入写入队列后立即返回，由后台线程批量写入数据库。
    *
    * @param logData 需要保存的登录日志数据
    */
-  @Transactional(rollbackFor = Exception.class)
   public void saveLoginLog(LoginLog logData) {
-    loginLogMapper.save(logData);
+    loginLogWriter.submit(logData);
   }
 
   /**
@@ -37,8 +47,40 @@ public class LoginLogService {
    * @return 登录日志列表
    */
   public ResultOfPaging<LoginLog> getLoginLogs(RequestOfPaging paging, RequestOfGetLoginLog query) {
-    List<LoginLog> logs = loginLogMapper.findByLoginTimeBetweenAndUsernameLikeAndRequestIpLikeOrderByLoginTimeDesc(paging, query);
-    int total = loginLogMapper.countByLoginTimeBetweenAndUsernameLikeAndRequestIpLike(query);
-    return new ResultOfPaging<>(paging, total, logs);
+    return queryBetween(query, tables -> {
+      List<LoginLog> logs = loginLogMapper.findByLoginTimeBetweenAndUsernameLikeAndRequestIpLikeOrderByLoginTimeDesc(paging, query, tables);
+      return pagingTotalCounter.toResult(paging, logs, "login-logs:" + tables + ":" + query,
+        () -> loginLogMapper.countByLoginTimeBetweenAndUsernameLikeAndRequestIpLike(query, tables));
+    });
+  }
+
+  /**
+   * 以游标方式获取登录日志列表。
+   *
+   * @param paging 游标分页参数
+   * @param query  请求参数
+   * @return 登录日志列表
+   */
+  public ResultOfCursorPaging<LoginLog> getLoginLogsByCursor(RequestOfCursorPaging paging, RequestOfGetLoginLog query) {
+    List<LoginLog> logs = queryBetween(query, tables -> loginLogMapper.findByCursorAndLoginTimeBetweenAndUsernameLikeAndRequestIpLikeOrderByLoginTimeDesc(paging, query, tables));
+    return new ResultOfCursorPaging<>(paging, logs, log -> new PagingCursor(log.getLoginTime(), log.getLogId()));
+  }
+
+  /**
+   * 以流式方式获取全部符合条件的登录日志。
+   *
+   * @param query   查询参数
+   * @param handler 逐行处理查询结果
+   */
+  public void exportLoginLogs(RequestOfGetLoginLog query, ResultHandler<LoginLog> handler) {
+    queryBetween(query, tables -> {
+      loginLogMapper.findAllByLoginTimeBetweenAndUsernameLikeAndRequestIpLikeOrderByLoginTimeDesc(query, tables, handler);
+      return null;
+    });
+  }
+
+  private <T> T queryBetween(RequestOfGetLoginLog query, Function<List<String>, T> queryOfTables) {
+    return logPartitionManager.queryBetween(PartitionedLogTable.LOGIN_LOGS,
+      query.getStartTimeInclusive(), query.getEndTimeInclusive(), queryOfTables);
   }
 }
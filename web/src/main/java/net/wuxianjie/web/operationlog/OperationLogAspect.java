@@ -4,12 +4,14 @@ import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import net.wuxianjie.springbootcore.exception.InternalException;
 import net.wuxianjie.springbootcore.security.AuthenticationUtils;
 import net.wuxianjie.springbootcore.security.TokenUserDetails;
 import net.wuxianjie.springbootcore.util.NetUtils;
+import net.wuxianjie.web.shared.AuditJsonLogger;
+import net.wuxianjie.web.shared.AuditLogMetrics;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
@@ -24,23 +26,49 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 操作日志切面类。
  *
+ * <p>
+ * 入参及返回值的 JSON 序列化耗时与提交至写入队列的耗时分别记录在 {@value AuditLogMetrics#ASPECT_TIMER_NAME} 指标中。
+ * </p>
+ *
  * @author 吴仙杰
  * @see OperationLogger
  */
-@Slf4j
 @Aspect
 @Component
-@RequiredArgsConstructor
 public class OperationLogAspect {
 
   private static final String VOID_RETURN_TYPE = "void";
 
+  /**
+   * 值已是 JSON 的操作日志字段，输出审计日志时原样写入。
+   */
+  private static final Set<String> RAW_JSON_FIELDS = Set.of("parameterJson", "returnJson");
+
+  private static final Set<String> RAW_PARAMETER_JSON_FIELDS = Set.of("parameterJson");
+
   private final ObjectMapper objectMapper;
   private final OperationLogService operationLogService;
+  private final AuditJsonLogger auditJsonLogger;
+
+  private final Timer serializeTimer;
+  private final Timer submitTimer;
+
+  public OperationLogAspect(ObjectMapper objectMapper,
+                            OperationLogService operationLogService,
+                            AuditJsonLogger auditJsonLogger,
+                            MeterRegistry meterRegistry) {
+    this.objectMapper = objectMapper;
+    this.operationLogService = operationLogService;
+    this.auditJsonLogger = auditJsonLogger;
+    this.serializeTimer = AuditLogMetrics.aspectTimer(meterRegistry, AuditLogMetrics.OPERATION_LOG, AuditLogMetrics.SERIALIZE_PHASE);
+    this.submitTimer = AuditLogMetrics.aspectTimer(meterRegistry, AuditLogMetrics.OPERATION_LOG, AuditLogMetrics.SUBMIT_PHASE);
+  }
 
   /**
    * 对标有 {@link OperationLogger} 注解的方法记录操作日志。
@@ -64,15 +92,14 @@ public class OperationLogAspect {
     // 方法信息
     String methodMessage = getMethodMessage(joinPoint);
     String qualifiedMethodName = getQualifiedMethodName(joinPoint);
+
+    long serializeStart = System.nanoTime();
     Map<String, Object> params = getParameters(joinPoint);
     String parameterJson = objectMapper.writeValueAsString(params);
     String returnJson = isVoidReturnType(joinPoint)
       ? VOID_RETURN_TYPE
       : objectMapper.writeValueAsString(returnObject);
-
-    // 打印到控制台
-    log.info("{} [{}]，入参：{}，返回值：{}，客户端信息：uri={};client={};user={}",
-      methodMessage, qualifiedMethodName, parameterJson, returnJson, requestUri, requestIp, username);
+    serializeTimer.record(System.nanoTime() - serializeStart, TimeUnit.NANOSECONDS);
 
     // 保存操作日志数据
     OperationLog LogToSave = new OperationLog();
@@ -85,7 +112,14 @@ public class OperationLogAspect {
     LogToSave.setMethodMessage(methodMessage);
     LogToSave.setParameterJson(parameterJson);
     LogToSave.setReturnJson(returnJson);
+
+    // 输出至审计日志文件：入参及返回值已是 JSON，原样写入；无返回值时的 void 并非 JSON，仍作为字符串写入
+    auditJsonLogger.log(AuditLogMetrics.OPERATION_LOG, LogToSave,
+      isVoidReturnType(joinPoint) ? RAW_PARAMETER_JSON_FIELDS : RAW_JSON_FIELDS);
+
+    long submitStart = System.nanoTime();
     operationLogService.saveOpLog(LogToSave);
+    submitTimer.record(System.nanoTime() - submitStart, TimeUnit.NANOSECONDS);
   }
 
   private MethodSignature getSignature(JoinPoint joinPoint) {
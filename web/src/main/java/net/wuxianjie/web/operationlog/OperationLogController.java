@@ -1,17 +1,28 @@
 package net.wuxianjie.web.operationlog;
 
+import cn.hutool.core.util.StrUtil;
 import lombok.RequiredArgsConstructor;
+import net.wuxianjie.springbootcore.paging.RequestOfCursorPaging;
 import net.wuxianjie.springbootcore.paging.RequestOfPaging;
+import net.wuxianjie.springbootcore.paging.ResultOfCursorPaging;
 import net.wuxianjie.springbootcore.paging.ResultOfPaging;
 import net.wuxianjie.springbootcore.util.StringUtils;
 import net.wuxianjie.springbootcore.util.ParameterUtils;
-import org.springframework.security.access.prepost.PreAuthorize;
+import net.wuxianjie.web.security.RequiresMenu;
+import net.wuxianjie.web.security.RoleOfMenu;
+import net.wuxianjie.web.shared.ExportColumn;
+import net.wuxianjie.web.shared.RequestOfExport;
+import net.wuxianjie.web.shared.StreamingExporter;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 操作日志 API 控制器。
@@ -23,7 +34,26 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class OperationLogController {
 
+  /**
+   * FTS5 trigram 分词器只能匹配至少 3 个字符的子串。
+   */
+  private static final int MIN_FULL_TEXT_LENGTH = 3;
+
+  private static final List<ExportColumn<OperationLog>> EXPORT_COLUMNS = List.of(
+    new ExportColumn<>("日志 ID", OperationLog::getLogId),
+    new ExportColumn<>("操作时间", OperationLog::getOperationTime),
+    new ExportColumn<>("用户 ID", OperationLog::getUserId),
+    new ExportColumn<>("用户名", OperationLog::getUsername),
+    new ExportColumn<>("请求 IP", OperationLog::getRequestIp),
+    new ExportColumn<>("请求 URI", OperationLog::getRequestUri),
+    new ExportColumn<>("方法名", OperationLog::getMethodName),
+    new ExportColumn<>("操作描述", OperationLog::getMethodMessage),
+    new ExportColumn<>("入参", OperationLog::getParameterJson),
+    new ExportColumn<>("返回值", OperationLog::getReturnJson)
+  );
+
   private final OperationLogService operationLogService;
+  private final StreamingExporter streamingExporter;
 
   /**
    * 获取操作日志列表。
@@ -33,7 +63,7 @@ public class OperationLogController {
    * @return 操作日志列表
    */
   @GetMapping("list")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_OP_LOG.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_OP_LOG)
   public ResultOfPaging<OperationLog> getOperationLogs(@Valid RequestOfPaging paging,
                                                        @Valid RequestOfGetOperationLog query) {
     setFuzzySearchValue(query);
@@ -41,10 +71,63 @@ public class OperationLogController {
     return operationLogService.getOpLogs(paging, query);
   }
 
+  /**
+   * 以游标方式获取操作日志列表，翻页时传入上一页返回的 {@code nextCursor}。
+   *
+   * @param paging 游标分页参数
+   * @param query  查询参数
+   * @return 操作日志列表
+   */
+  @GetMapping("list-by-cursor")
+  @RequiresMenu(RoleOfMenu.ROLE_OP_LOG)
+  public ResultOfCursorPaging<OperationLog> getOperationLogsByCursor(@Valid RequestOfCursorPaging paging,
+                                                                     @Valid RequestOfGetOperationLog query) {
+    setFuzzySearchValue(query);
+    setStartAndEndTime(query);
+    return operationLogService.getOpLogsByCursor(paging, query);
+  }
+
+  /**
+   * 以 CSV 或 JSON 行格式导出全部符合条件的操作日志，数据逐行写入响应体。
+   *
+   * @param export   导出参数
+   * @param query    查询参数
+   * @param response {@link HttpServletResponse}
+   * @throws IOException 当写入响应体失败时抛出
+   */
+  @GetMapping("export")
+  @RequiresMenu(RoleOfMenu.ROLE_OP_LOG)
+  public void exportOperationLogs(@Valid RequestOfExport export,
+                                  @Valid RequestOfGetOperationLog query,
+                                  HttpServletResponse response) throws IOException {
+    setFuzzySearchValue(query);
+    setStartAndEndTime(query);
+    streamingExporter.export(response, export, "operation-logs", EXPORT_COLUMNS,
+      handler -> operationLogService.exportOpLogs(query, handler));
+  }
+
   private void setFuzzySearchValue(RequestOfGetOperationLog query) {
-    query.setUsername(StringUtils.toNullableFuzzyString(query.getUsername()));
     query.setRequestIp(StringUtils.toNullableFuzzyString(query.getRequestIp()));
-    query.setMethodMessage(StringUtils.toNullableFuzzyString(query.getMethodMessage()));
+
+    // 足够长的搜索条件使用全文检索，其余仍使用 LIKE 模糊搜索
+    List<String> fullTextTerms = new ArrayList<>();
+    query.setUsername(toFuzzyOrFullText(query.getUsername(), "{username}", fullTextTerms));
+    query.setMethodMessage(toFuzzyOrFullText(query.getMethodMessage(), "{method_message}", fullTextTerms));
+    query.setKeyword(toFuzzyOrFullText(query.getKeyword(), null, fullTextTerms));
+    query.setFullTextQuery(fullTextTerms.isEmpty() ? null : String.join(" AND ", fullTextTerms));
+  }
+
+  private String toFuzzyOrFullText(String value, String columnFilter, List<String> fullTextTerms) {
+    String trimmed = StrUtil.trimToNull(value);
+    if (trimmed == null) return null;
+
+    if (trimmed.codePointCount(0, trimmed.length()) < MIN_FULL_TEXT_LENGTH) {
+      return StringUtils.toNullableFuzzyString(trimmed);
+    }
+
+    String phrase = StringUtils.toNullableFullTextPhrase(trimmed);
+    fullTextTerms.add(columnFilter == null ? phrase : columnFilter + " : " + phrase);
+    return null;
   }
 
   private void setStartAndEndTime(RequestOfGetOperationLog query) {
@@ -1,8 +1,10 @@
 package net.wuxianjie.web.operationlog;
 
+import net.wuxianjie.springbootcore.paging.RequestOfCursorPaging;
 import net.wuxianjie.springbootcore.paging.RequestOfPaging;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -19,23 +21,51 @@ public interface OperationLogMapper {
    *
    * @param paging 分页参数
    * @param query  查询参数
+   * @param tables 需要查询的表名
    * @return 操作日志分页列表
    */
   List<OperationLog> findByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLikeOrderByOpTimeDesc(@Param("p") RequestOfPaging paging,
-                                                                                                                    @Param("q") RequestOfGetOperationLog query);
+                                                                                                                    @Param("q") RequestOfGetOperationLog query,
+                                                                                                                    @Param("tables") List<String> tables);
+
+  /**
+   * 以游标方式获取操作日志列表，按操作时间及日志 ID 倒序排列，最多返回 {@code pageSize + 1} 条。
+   *
+   * @param paging 游标分页参数
+   * @param query  查询参数
+   * @param tables 需要查询的表名
+   * @return 操作日志列表
+   */
+  List<OperationLog> findByCursorAndOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLikeOrderByOpTimeDesc(@Param("p") RequestOfCursorPaging paging,
+                                                                                                                             @Param("q") RequestOfGetOperationLog query,
+                                                                                                                             @Param("tables") List<String> tables);
+
+  /**
+   * 以流式方式获取全部符合条件的操作日志，按操作时间及日志 ID 倒序排列，每映射一行即交由 {@code handler} 处理。
+   *
+   * @param query   查询参数
+   * @param tables  需要查询的表名
+   * @param handler 逐行处理查询结果
+   */
+  void findAllByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLikeOrderByOpTimeDesc(@Param("q") RequestOfGetOperationLog query,
+                                                                                                        @Param("tables") List<String> tables,
+                                                                                                        ResultHandler<OperationLog> handler);
 
   /**
    * 统计操作日志总数。
    *
-   * @param query 查询参数
+   * @param query  查询参数
+   * @param tables 需要查询的表名
    * @return 符合条件的操作日志总数
    */
-  int countByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLike(@Param("q") RequestOfGetOperationLog query);
+  int countByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLike(@Param("q") RequestOfGetOperationLog query,
+                                                                                     @Param("tables") List<String> tables);
 
   /**
-   * 保存操作日志数据。
+   * 以一条多行 INSERT 语句批量保存操作日志数据。
    *
-   * @param logData 需要保存的操作日志数据
+   * @param table 需要写入的表名
+   * @param logs  需要保存的操作日志数据，条数不超过 {@link net.wuxianjie.web.shared.AuditLogPropertiesConfig#getBatchSize()}
    */
-  void save(OperationLog logData);
+  void saveAll(@Param("table") String table, @Param("logs") List<OperationLog> logs);
 }
@@ -1,12 +1,20 @@
 package net.wuxianjie.web.operationlog;
 
 import lombok.RequiredArgsConstructor;
+import net.wuxianjie.springbootcore.paging.PagingCursor;
+import net.wuxianjie.springbootcore.paging.PagingTotalCounter;
+import net.wuxianjie.springbootcore.paging.RequestOfCursorPaging;
 import net.wuxianjie.springbootcore.paging.RequestOfPaging;
+import net.wuxianjie.springbootcore.paging.ResultOfCursorPaging;
 import net.wuxianjie.springbootcore.paging.ResultOfPaging;
+import net.wuxianjie.web.partition.LogPartitionManager;
+import net.wuxianjie.web.partition.PartitionedLogTable;
+import net.wuxianjie.web.shared.AsyncBatchWriter;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * 操作日志业务逻辑实现类。
@@ -18,15 +26,17 @@ import java.util.List;
 public class OperationLogService {
 
   private final OperationLogMapper operationLogMapper;
+  private final PagingTotalCounter pagingTotalCounter;
+  private final LogPartitionManager logPartitionManager;
+  private final AsyncBatchWriter<OperationLog> operationLogWriter;
 
   /**
-   * 保存操作日志。
+   * 保存操作日志：放入写入队列后立即返回，由后台线程批量写入数据库。
    *
    * @param logData 需要保存的操作日志数据
    */
-  @Transactional(rollbackFor = Exception.class)
   public void saveOpLog(OperationLog logData) {
-    operationLogMapper.save(logData);
+    operationLogWriter.submit(logData);
   }
 
   /**
@@ -37,8 +47,40 @@ public class OperationLogService {
    * @return 操作日志列表
    */
   public ResultOfPaging<OperationLog> getOpLogs(RequestOfPaging paging, RequestOfGetOperationLog query) {
-    List<OperationLog> logs = operationLogMapper.findByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLikeOrderByOpTimeDesc(paging, query);
-    int total = operationLogMapper.countByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLike(query);
-    return new ResultOfPaging<>(paging, total, logs);
+    return queryBetween(query, tables -> {
+      List<OperationLog> logs = operationLogMapper.findByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLikeOrderByOpTimeDesc(paging, query, tables);
+      return pagingTotalCounter.toResult(paging, logs, "operation-logs:" + tables + ":" + query,
+        () -> operationLogMapper.countByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLike(query, tables));
+    });
+  }
+
+  /**
+   * 以游标方式获取操作日志列表。
+   *
+   * @param paging 游标分页参数
+   * @param query  查询参数
+   * @return 操作日志列表
+   */
+  public ResultOfCursorPaging<OperationLog> getOpLogsByCursor(RequestOfCursorPaging paging, RequestOfGetOperationLog query) {
+    List<OperationLog> logs = queryBetween(query, tables -> operationLogMapper.findByCursorAndOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLikeOrderByOpTimeDesc(paging, query, tables));
+    return new ResultOfCursorPaging<>(paging, logs, log -> new PagingCursor(log.getOperationTime(), log.getLogId()));
+  }
+
+  /**
+   * 以流式方式获取全部符合条件的操作日志。
+   *
+   * @param query   查询参数
+   * @param handler 逐行处理查询结果
+   */
+  public void exportOpLogs(RequestOfGetOperationLog query, ResultHandler<OperationLog> handler) {
+    queryBetween(query, tables -> {
+      operationLogMapper.findAllByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLikeOrderByOpTimeDesc(query, tables, handler);
+      return null;
+    });
+  }
+
+  private <T> T queryBetween(RequestOfGetOperationLog query, Function<List<String>, T> queryOfTables) {
+    return logPartitionManager.queryBetween(PartitionedLogTable.OPERATION_LOGS,
+      query.getStartTimeInclusive(), query.getEndTimeInclusive(), queryOfTables);
   }
 }
@@ -0,0 +1,47 @@
+package net.wuxianjie.web.operationlog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.wuxianjie.web.partition.LogPartitionManager;
+import net.wuxianjie.web.partition.PartitionedLogTable;
+import net.wuxianjie.web.shared.AsyncBatchWriter;
+import net.wuxianjie.web.shared.AuditLogMetrics;
+import net.wuxianjie.web.shared.AuditLogPropertiesConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 操作日志异步批量写入配置类。
+ *
+ * @author 吴仙杰
+ */
+@Configuration
+public class OperationLogWriterConfig {
+
+  /**
+   * 操作日志异步批量写入器，每批次在同一事务中按所在分区以多行 INSERT 语句写入。
+   *
+   * @param auditLogConfig      审计日志配置属性
+   * @param objectMapper        用于溢出文件的 JSON 序列化及反序列化
+   * @param operationLogMapper  操作日志 SQL
+   * @param logPartitionManager 日志分区管理器
+   * @param transactionTemplate 编程式事务
+   * @return 操作日志异步批量写入器
+   */
+  @Bean(initMethod = "start", destroyMethod = "close")
+  public AsyncBatchWriter<OperationLog> operationLogWriter(AuditLogPropertiesConfig auditLogConfig,
+                                                          ObjectMapper objectMapper,
+                                                          OperationLogMapper operationLogMapper,
+                                                          LogPartitionManager logPartitionManager,
+                                                          TransactionTemplate transactionTemplate) {
+    return new AsyncBatchWriter<>(
+      AuditLogMetrics.OPERATION_LOG,
+      OperationLog.class,
+      auditLogConfig,
+      objectMapper,
+      logs -> transactionTemplate.executeWithoutResult(status -> logPartitionManager
+        .groupByPartition(PartitionedLogTable.OPERATION_LOGS, logs, OperationLog::getOperationTime, (log, logId) -> log.setLogId(Math.toIntExact(logId)))
+        .forEach(operationLogMapper::saveAll))
+    );
+  }
+}
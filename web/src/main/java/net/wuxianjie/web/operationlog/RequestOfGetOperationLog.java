@@ -41,4 +41,14 @@ public class RequestOfGetOperationLog {
    * 操作描述。
    */
   private String methodMessage;
+
+  /**
+   * 关键字，同时搜索操作描述、请求参数、返回结果、用户名及请求路径。
+   */
+  private String keyword;
+
+  /**
+   * 由至少 3 个字符的搜索条件转换而来的 FTS5 全文检索表达式，不足 3 个字符的搜索条件仍使用 LIKE 模糊搜索。
+   */
+  private String fullTextQuery;
 }
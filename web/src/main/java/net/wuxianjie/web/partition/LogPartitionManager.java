@@ -0,0 +1,301 @@
+package net.wuxianjie.web.partition;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.sqlite.SQLiteException;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 日志分区管理器：按月创建分区表，并确定读写时所需访问的表。
+ *
+ * <p>
+ * 开启分区后，新日志写入所在月份的分区表，分区表在首次写入时自动创建；原表保留开启分区前的日志，查询时仍会一并访问。
+ * 未开启分区时，所有读写都只访问原表。
+ * </p>
+ *
+ * <p>
+ * 为使 {@code (时间, 日志 ID)} 游标在所有分区中唯一，分区表中的日志 ID 由本类统一分配，而非使用各表的自增 ID：
+ * ID 取自原表在 {@code sqlite_sequence} 中的自增序列，并在写入日志的同一事务中更新，
+ * 故与原表的 AUTOINCREMENT 共用同一序列，多个服务实例共享同一数据库时也不会重复。
+ * </p>
+ *
+ * <p>
+ * 已存在的分区从 {@code sqlite_master} 读取后缓存 {@link LogPartitionPropertiesConfig#getPartitionCacheTtlSeconds()} 秒，
+ * 故其他实例创建或删除的分区在该时间内于本实例生效。此前查询若访问到已被删除的分区，
+ * {@link #queryBetween(PartitionedLogTable, LocalDateTime, LocalDateTime, Function)} 会重新读取分区后重试一次。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see LogRetentionScheduler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogPartitionManager {
+
+  private static final DateTimeFormatter MONTH_SUFFIX_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private final LogPartitionPropertiesConfig partitionConfig;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  private final Map<PartitionedLogTable, CachedPartitions> partitions = new ConcurrentHashMap<>();
+  private final Set<PartitionedLogTable> reconciledSequences = ConcurrentHashMap.newKeySet();
+
+  /**
+   * 获取与时间范围有交集的所有表，按月份倒序排列，原表排在最后。
+   *
+   * @param table             日志表
+   * @param startTimeInclusive 开始时间，包含，为 null 时代表不限
+   * @param endTimeInclusive   结束时间，包含，为 null 时代表不限
+   * @return 需要查询的表名列表
+   */
+  public List<String> getTablesBetween(PartitionedLogTable table,
+                                       LocalDateTime startTimeInclusive,
+                                       LocalDateTime endTimeInclusive) {
+    List<String> tables = getPartitions(table).descendingSet().stream()
+      .filter(month -> startTimeInclusive == null || !month.isBefore(YearMonth.from(startTimeInclusive)))
+      .filter(month -> endTimeInclusive == null || !month.isAfter(YearMonth.from(endTimeInclusive)))
+      .map(month -> toPartitionName(table, month))
+      .collect(Collectors.toList());
+
+    tables.add(table.getBaseTable());
+    return tables;
+  }
+
+  /**
+   * 查询与时间范围有交集的所有表。若查询时某个分区已被其他实例删除，则重新读取已存在的分区后重试一次。
+   *
+   * @param table              日志表
+   * @param startTimeInclusive 开始时间，包含，为 null 时代表不限
+   * @param endTimeInclusive   结束时间，包含，为 null 时代表不限
+   * @param query              以需要查询的表名列表执行查询
+   * @param <T>                查询结果类型
+   * @return 查询结果
+   */
+  public <T> T queryBetween(PartitionedLogTable table,
+                            LocalDateTime startTimeInclusive,
+                            LocalDateTime endTimeInclusive,
+                            Function<List<String>, T> query) {
+    try {
+      return query.apply(getTablesBetween(table, startTimeInclusive, endTimeInclusive));
+    } catch (DataAccessException e) {
+      if (!isNoSuchTable(e)) throw e;
+
+      // SQLite 在准备语句时即报告表不存在，此时尚未返回任何数据，故可安全重试
+      log.info("查询的日志分区已不存在，重新读取分区后重试 [{}]", e.getMostSpecificCause().getMessage());
+      partitions.remove(table);
+      return query.apply(getTablesBetween(table, startTimeInclusive, endTimeInclusive));
+    }
+  }
+
+  /**
+   * 将需要写入的日志按所在分区分组，必要时创建分区表并为日志分配 ID；未开启分区时全部写入原表。
+   *
+   * <p>
+   * 需要在写事务中调用。
+   * </p>
+   *
+   * @param table       日志表
+   * @param logs        需要写入的日志
+   * @param timeOf      获取日志时间
+   * @param logIdSetter 设置日志 ID
+   * @param <E>         日志类型
+   * @return 表名与该表需要写入的日志
+   */
+  public <E> Map<String, List<E>> groupByPartition(PartitionedLogTable table,
+                                                   List<E> logs,
+                                                   Function<E, LocalDateTime> timeOf,
+                                                   BiConsumer<E, Long> logIdSetter) {
+    if (!partitionConfig.isEnabled()) return Map.of(table.getBaseTable(), logs);
+
+    Set<YearMonth> ensuredMonths = new HashSet<>();
+    long logId = allocateLogIds(table, logs.size());
+    Map<String, List<E>> tableToLogs = new LinkedHashMap<>();
+    for (E logData : logs) {
+      YearMonth month = YearMonth.from(timeOf.apply(logData));
+      if (ensuredMonths.add(month)) createPartitionIfAbsent(table, month);
+
+      logIdSetter.accept(logData, ++logId);
+      tableToLogs.computeIfAbsent(toPartitionName(table, month), k -> new ArrayList<>()).add(logData);
+    }
+    return tableToLogs;
+  }
+
+  /**
+   * 获取已存在的所有分区月份，按月份正序排列。缓存过期后重新从数据库读取，以获取其他实例创建或删除的分区。
+   *
+   * @param table 日志表
+   * @return 分区月份
+   */
+  public NavigableSet<YearMonth> getPartitions(PartitionedLogTable table) {
+    return partitions.compute(table, (k, cached) -> cached != null && !cached.isExpired()
+      ? cached
+      : new CachedPartitions(loadPartitions(table), partitionConfig.getPartitionCacheTtlSeconds())
+    ).months;
+  }
+
+  /**
+   * 获取分区表名。
+   *
+   * @param table 日志表
+   * @param month 分区月份
+   * @return 分区表名，例如 {@code operation_logs_202206}
+   */
+  public String toPartitionName(PartitionedLogTable table, YearMonth month) {
+    return table.getBaseTable() + "_" + month.format(MONTH_SUFFIX_FORMATTER);
+  }
+
+  /**
+   * 删除分区表（及其全文检索索引）。删除整张表只需释放数据页，比逐行删除快得多。
+   *
+   * @param table 日志表
+   * @param month 分区月份
+   */
+  public void dropPartition(PartitionedLogTable table, YearMonth month) {
+    String partition = toPartitionName(table, month);
+
+    // 先从路由中移除，使新的查询不再访问该分区
+    getPartitions(table).remove(month);
+
+    transactionTemplate.executeWithoutResult(status -> {
+      if (!table.getFullTextColumns().isEmpty()) jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition + "_fts");
+
+      jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+    });
+
+    log.info("已删除日志分区 [{}]", partition);
+  }
+
+  private NavigableSet<YearMonth> loadPartitions(PartitionedLogTable table) {
+    String pattern = table.getBaseTable() + "_[0-9][0-9][0-9][0-9][0-9][0-9]";
+    List<String> names = jdbcTemplate.queryForList(
+      "SELECT name FROM sqlite_master WHERE type = 'table' AND name GLOB ?", String.class, pattern);
+
+    return names.stream()
+      .map(name -> YearMonth.parse(StrUtil.removePrefix(name, table.getBaseTable() + "_"), MONTH_SUFFIX_FORMATTER))
+      .collect(Collectors.toCollection(ConcurrentSkipListSet::new));
+  }
+
+  private void createPartitionIfAbsent(PartitionedLogTable table, YearMonth month) {
+    NavigableSet<YearMonth> months = getPartitions(table);
+    if (months.contains(month)) return;
+
+    String partition = toPartitionName(table, month);
+    transactionTemplate.executeWithoutResult(status -> {
+      jdbcTemplate.execute(StrUtil.format("CREATE TABLE IF NOT EXISTS {} ({})", partition, table.getColumnDefinitions()));
+      jdbcTemplate.execute(StrUtil.format("CREATE INDEX IF NOT EXISTS idx_{}_{} ON {} ({}, log_id)",
+        partition, table.getTimeColumn(), partition, table.getTimeColumn()));
+
+      if (!table.getFullTextColumns().isEmpty()) createFullTextIndex(partition, table.getFullTextColumns());
+    });
+
+    // 分区表随事务一起提交，提交前其他连接还看不到该表，故提交后才加入路由；若事务回滚则无需处理
+    afterCommit(() -> months.add(month));
+
+    log.info("已创建日志分区 [{}]", partition);
+  }
+
+  private void createFullTextIndex(String partition, List<String> columns) {
+    String columnList = String.join(", ", columns);
+    String newValues = columns.stream().map(c -> "new." + c).collect(Collectors.joining(", "));
+    String oldValues = columns.stream().map(c -> "old." + c).collect(Collectors.joining(", "));
+    String fts = partition + "_fts";
+
+    jdbcTemplate.execute(StrUtil.format(
+      "CREATE VIRTUAL TABLE IF NOT EXISTS {} USING fts5 ({}, content = '{}', content_rowid = 'log_id', tokenize = 'trigram')",
+      fts, columnList, partition));
+
+    String insertNew = StrUtil.format("INSERT INTO {} (rowid, {}) VALUES (new.log_id, {});", fts, columnList, newValues);
+    String deleteOld = StrUtil.format("INSERT INTO {} ({}, rowid, {}) VALUES ('delete', old.log_id, {});", fts, fts, columnList, oldValues);
+
+    jdbcTemplate.execute(StrUtil.format("CREATE TRIGGER IF NOT EXISTS {}_after_insert AFTER INSERT ON {} BEGIN {} END",
+      fts, partition, insertNew));
+    jdbcTemplate.execute(StrUtil.format("CREATE TRIGGER IF NOT EXISTS {}_after_delete AFTER DELETE ON {} BEGIN {} END",
+      fts, partition, deleteOld));
+    jdbcTemplate.execute(StrUtil.format("CREATE TRIGGER IF NOT EXISTS {}_after_update AFTER UPDATE ON {} BEGIN {} {} END",
+      fts, partition, deleteOld, insertNew));
+  }
+
+  /**
+   * 从原表的自增序列中分配一段连续的日志 ID，须与日志写入处于同一事务中。
+   *
+   * @return 所分配的第一个 ID 的前一个值，即本次分配的 ID 为 {@code (返回值, 返回值 + count]}
+   */
+  private long allocateLogIds(PartitionedLogTable table, int count) {
+    String baseTable = table.getBaseTable();
+
+    // 兼容原表从未写入过（无序列行）或旧版本已在分区表中分配过更大 ID 的情况，每个进程只需校正一次
+    if (!reconciledSequences.contains(table)) {
+      long maxLogId = findMaxLogId(table);
+      int updated = jdbcTemplate.update("UPDATE sqlite_sequence SET seq = MAX(seq, ?) WHERE name = ?", maxLogId, baseTable);
+      if (updated == 0) jdbcTemplate.update("INSERT INTO sqlite_sequence (name, seq) VALUES (?, ?)", baseTable, maxLogId);
+
+      afterCommit(() -> reconciledSequences.add(table));
+    }
+
+    jdbcTemplate.update("UPDATE sqlite_sequence SET seq = seq + ? WHERE name = ?", count, baseTable);
+    Long seq = jdbcTemplate.queryForObject("SELECT seq FROM sqlite_sequence WHERE name = ?", Long.class, baseTable);
+    return Objects.requireNonNull(seq) - count;
+  }
+
+  private long findMaxLogId(PartitionedLogTable table) {
+    List<String> tables = getTablesBetween(table, null, null);
+    String sql = tables.stream()
+      .map(t -> "SELECT MAX(log_id) AS max_id FROM " + t)
+      .collect(Collectors.joining(" UNION ALL ", "SELECT IFNULL(MAX(max_id), 0) FROM (", ")"));
+
+    return Optional.ofNullable(jdbcTemplate.queryForObject(sql, Long.class)).orElse(0L);
+  }
+
+  private static boolean isNoSuchTable(DataAccessException e) {
+    Throwable cause = e.getMostSpecificCause();
+    return cause instanceof SQLiteException && StrUtil.containsIgnoreCase(cause.getMessage(), "no such table");
+  }
+
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  private static class CachedPartitions {
+
+    private final NavigableSet<YearMonth> months;
+    private final long expiresAtNanos;
+
+    private CachedPartitions(NavigableSet<YearMonth> months, int ttlSeconds) {
+      this.months = months;
+      this.expiresAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    private boolean isExpired() {
+      return System.nanoTime() - expiresAtNanos >= 0;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package net.wuxianjie.web.partition;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * 日志分区及保留策略的配置属性配置类。
+ *
+ * @author 吴仙杰
+ * @see LogPartitionManager
+ * @see LogRetentionScheduler
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "web.log-partition")
+public class LogPartitionPropertiesConfig {
+
+  /**
+   * 是否将新日志写入按月分区的表（例如 {@code operation_logs_202206}），关闭时仍写入原表。
+   */
+  private boolean enabled;
+
+  /**
+   * 日志保留的月数（包含当月），更早的日志会被归档或删除，0 代表永久保留。
+   */
+  @Min(message = "日志保留月数不能小于 0", value = 0)
+  private int retentionMonths;
+
+  /**
+   * 归档文件的存放目录，过期日志会先复制到该目录下的 SQLite 数据库文件中再删除，为空时代表直接删除。
+   */
+  private String archiveDir;
+
+  /**
+   * 从原表删除过期日志时，每个事务删除的条数，以避免长时间持有写锁。
+   */
+  @Min(message = "每批次删除条数不能小于 1", value = 1)
+  private int deleteBatchSize = 1000;
+
+  /**
+   * 已存在分区的缓存时间，单位秒，即其他实例创建或删除分区后在本实例生效的最长延迟。
+   *
+   * @see LogPartitionManager#getPartitions(PartitionedLogTable)
+   */
+  @Min(message = "分区缓存时间不能小于 1 秒", value = 1)
+  private int partitionCacheTtlSeconds = 5;
+
+  /**
+   * 清理过期日志的 cron 表达式。
+   *
+   * @see LogRetentionScheduler#removeExpiredLogs()
+   */
+  private String retentionCron = "0 30 3 * * ?";
+}
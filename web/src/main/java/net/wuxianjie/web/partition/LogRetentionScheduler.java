@@ -0,0 +1,142 @@
+package net.wuxianjie.web.partition;
+
+import cn.hutool.core.date.LocalDateTimeUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wuxianjie.springbootcore.exception.InternalException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按保留策略定时清理过期日志：过期的分区整表归档后删除，原表中的过期日志则分批归档及删除，以避免长时间持有写锁。
+ *
+ * <p>
+ * 归档文件为 {@code ${archiveDir}/表名.db} 格式的 SQLite 数据库文件，可直接使用 SQLite 客户端查看。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see LogPartitionPropertiesConfig
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogRetentionScheduler {
+
+  private static final int ARCHIVE_BATCH_SIZE = 500;
+
+  private final LogPartitionPropertiesConfig partitionConfig;
+  private final LogPartitionManager partitionManager;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * 清理超出保留月数的日志，默认每天凌晨 3 点 30 分执行。
+   */
+  @Scheduled(cron = "#{@logPartitionPropertiesConfig.retentionCron}")
+  public void removeExpiredLogs() {
+    int retentionMonths = partitionConfig.getRetentionMonths();
+    if (retentionMonths <= 0) return;
+
+    YearMonth oldestKeptMonth = YearMonth.now().minusMonths(retentionMonths - 1L);
+    for (PartitionedLogTable table : PartitionedLogTable.values()) {
+      try {
+        removeExpiredPartitions(table, oldestKeptMonth);
+        removeExpiredRowsFromBaseTable(table, oldestKeptMonth.atDay(1).atStartOfDay());
+      } catch (Exception e) {
+        log.error("清理过期日志失败 [{}]", table.getBaseTable(), e);
+      }
+    }
+  }
+
+  private void removeExpiredPartitions(PartitionedLogTable table, YearMonth oldestKeptMonth) {
+    List<YearMonth> expiredMonths = new ArrayList<>(partitionManager.getPartitions(table).headSet(oldestKeptMonth));
+    for (YearMonth month : expiredMonths) {
+      String partition = partitionManager.toPartitionName(table, month);
+      if (isArchiveEnabled()) archive(table, partition, "SELECT {} FROM " + partition);
+
+      partitionManager.dropPartition(table, month);
+    }
+  }
+
+  private void removeExpiredRowsFromBaseTable(PartitionedLogTable table, LocalDateTime cutoff) {
+    String baseTable = table.getBaseTable();
+    String expiredIds = StrUtil.format("SELECT log_id FROM {} WHERE {} < ? ORDER BY log_id LIMIT ?",
+      baseTable, table.getTimeColumn());
+    String deleteSql = StrUtil.format("DELETE FROM {} WHERE log_id IN ({})", baseTable, expiredIds);
+    String cutoffText = LocalDateTimeUtil.formatNormal(cutoff);
+    int batchSize = partitionConfig.getDeleteBatchSize();
+
+    long total = 0;
+    while (true) {
+      if (isArchiveEnabled()) {
+        archive(table, baseTable, "SELECT {} FROM " + baseTable + " WHERE log_id IN (" + expiredIds + ")", cutoffText, batchSize);
+      }
+
+      // 每批次一个短事务，其间的日志写入无需长时间等待
+      Integer deleted = transactionTemplate.execute(status -> jdbcTemplate.update(deleteSql, cutoffText, batchSize));
+      if (deleted == null || deleted == 0) break;
+
+      total += deleted;
+    }
+
+    if (total > 0) log.info("已删除 [{}] 中 {} 之前的日志 {} 条", baseTable, cutoffText, total);
+  }
+
+  private boolean isArchiveEnabled() {
+    return StrUtil.isNotBlank(partitionConfig.getArchiveDir());
+  }
+
+  private void archive(PartitionedLogTable table, String archiveTable, String selectTemplate, Object... args) {
+    List<String> columns = table.getColumnNames();
+    String selectSql = StrUtil.format(selectTemplate, String.join(", ", columns));
+    String insertSql = StrUtil.format("INSERT OR IGNORE INTO {} ({}) VALUES ({})",
+      archiveTable, String.join(", ", columns), StrUtil.repeatAndJoin("?", columns.size(), ", "));
+    Path archiveFile = Paths.get(partitionConfig.getArchiveDir(), archiveTable + ".db");
+
+    try {
+      Files.createDirectories(archiveFile.toAbsolutePath().getParent());
+
+      // 归档文件使用独立连接写入，不占用应用的写连接
+      try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + archiveFile.toAbsolutePath())) {
+        connection.setAutoCommit(false);
+
+        try (Statement statement = connection.createStatement()) {
+          statement.execute(StrUtil.format("CREATE TABLE IF NOT EXISTS {} ({})", archiveTable, table.getColumnDefinitions()));
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+          int[] pending = {0};
+          jdbcTemplate.query(selectSql, rs -> {
+            for (int i = 1; i <= columns.size(); i++) {
+              insert.setObject(i, rs.getObject(i));
+            }
+            insert.addBatch();
+
+            if (++pending[0] == ARCHIVE_BATCH_SIZE) {
+              insert.executeBatch();
+              pending[0] = 0;
+            }
+          }, args);
+          insert.executeBatch();
+        }
+
+        connection.commit();
+      }
+    } catch (IOException | SQLException e) {
+      throw new InternalException(StrUtil.format("归档日志失败 [{}]", archiveTable), e);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package net.wuxianjie.web.partition;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 可按月分区的日志表。
+ *
+ * @author 吴仙杰
+ * @see LogPartitionManager
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PartitionedLogTable {
+
+  /**
+   * 操作日志表。
+   */
+  OPERATION_LOGS(
+    "operation_logs",
+    "operation_time",
+    "log_id         INTEGER NOT NULL PRIMARY KEY," +
+      "operation_time DATE," +
+      "user_id        INTEGER," +
+      "username       TEXT," +
+      "request_ip     TEXT," +
+      "request_uri    TEXT," +
+      "method_name    TEXT," +
+      "method_message TEXT," +
+      "parameter_json TEXT," +
+      "return_json    TEXT",
+    List.of("method_message", "parameter_json", "return_json", "username", "request_uri")
+  ),
+
+  /**
+   * 登录日志表。
+   */
+  LOGIN_LOGS(
+    "login_logs",
+    "login_time",
+    "log_id     INTEGER NOT NULL PRIMARY KEY," +
+      "login_time DATE," +
+      "user_id    INTEGER," +
+      "username   TEXT," +
+      "request_ip TEXT",
+    List.of()
+  );
+
+  /**
+   * 未分区时的表名，也是分区表名的前缀，例如 {@code operation_logs_202206}。
+   */
+  private final String baseTable;
+
+  /**
+   * 决定数据所在分区的时间列。
+   */
+  private final String timeColumn;
+
+  /**
+   * 分区表的列定义，日志 ID 由 {@link LogPartitionManager} 统一分配，故无需自增。
+   */
+  private final String columnDefinitions;
+
+  /**
+   * 需要建立 FTS5 全文检索索引的列，为空时代表无需全文检索。
+   */
+  private final List<String> fullTextColumns;
+
+  /**
+   * 获取列名列表，顺序与列定义一致。
+   *
+   * @return 列名列表
+   */
+  public List<String> getColumnNames() {
+    return StrUtil.split(columnDefinitions, ',').stream()
+      .map(definition -> StrUtil.subBefore(definition.trim(), " ", false))
+      .collect(Collectors.toList());
+  }
+}
@@ -1,9 +1,11 @@
 package net.wuxianjie.web.role;
 
 import lombok.RequiredArgsConstructor;
+import net.wuxianjie.springbootcore.rest.ConditionalGet;
 import net.wuxianjie.web.operationlog.OperationLogger;
+import net.wuxianjie.web.security.RequiresMenu;
+import net.wuxianjie.web.security.RoleOfMenu;
 import net.wuxianjie.web.shared.SimpleResultOfWriteOperation;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -27,7 +29,8 @@ public class RoleController {
    * @return 角色列表
    */
   @GetMapping("list")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_ROLE_LIST.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_ROLE_LIST)
+  @ConditionalGet(RoleService.RESOURCE)
   public List<Role> getAllRoles() {
     return roleService.getAllRoles();
   }
@@ -40,7 +43,7 @@ public class RoleController {
    */
   @PostMapping("add")
   @OperationLogger("新增角色")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_ROLE_ADD.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_ROLE_ADD)
   public SimpleResultOfWriteOperation saveRole(@RequestBody @Valid RequestOfSaveRole query) {
     return roleService.saveRole(query);
   }
@@ -54,7 +57,7 @@ public class RoleController {
    */
   @PostMapping("update/{roleId:\\d+}")
   @OperationLogger("修改角色")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_ROLE_UPDATE.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_ROLE_UPDATE)
   public SimpleResultOfWriteOperation updateRole(@PathVariable int roleId,
                                                  @RequestBody @Valid RequestOfUpdateRole query) {
     query.setRoleId(roleId);
@@ -69,7 +72,7 @@ public class RoleController {
    */
   @GetMapping("del/{roleId:\\d+}")
   @OperationLogger("删除角色")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_ROLE_DEL.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_ROLE_DEL)
   public SimpleResultOfWriteOperation deleteRole(@PathVariable int roleId) {
     return roleService.deleteRole(roleId);
   }
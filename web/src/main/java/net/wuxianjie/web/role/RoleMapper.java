@@ -12,22 +12,6 @@ import java.util.List;
 @Mapper
 public interface RoleMapper {
 
-  /**
-   * 通过角色 id 获取角色数据。
-   *
-   * @param roleId 角色 id
-   * @return 角色数据
-   */
-  Role findByRoleId(int roleId);
-
-  /**
-   * 检查是否已存在相同角色名。
-   *
-   * @param roleName 角色名
-   * @return true：已存在，false：不存在
-   */
-  boolean existsByRoleName(String roleName);
-
   /**
    * 获取全部角色列表。
    *
@@ -0,0 +1,171 @@
+package net.wuxianjie.web.role;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wuxianjie.springbootcore.exception.ConflictException;
+import net.wuxianjie.springbootcore.rest.ResourceVersions;
+import net.wuxianjie.web.shared.ResourceVersionChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 角色数据仓库：将整张角色表加载为内存中的不可变快照，读操作及唯一性校验只读取快照而不访问数据库，写操作则直接写入数据库。
+ *
+ * <p>
+ * 写操作在同一事务中递增角色的资源版本号（{@link RoleService#RESOURCE}），版本号变更时（本实例的写事务提交后，
+ * 或定时刷新发现共享同一数据库的其他实例修改了角色时）重新加载整张表并原子地替换快照，回滚的修改则不会触发重新加载。
+ * 角色表很小且极少修改，故重新加载的开销可忽略。
+ * </p>
+ *
+ * <p>
+ * 快照中的 {@link Role} 对象在多个请求间共享，调用方不可修改。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleRepository {
+
+  private final RoleMapper roleMapper;
+  private final ResourceVersions resourceVersions;
+
+  private volatile RoleSnapshot snapshot;
+
+  /**
+   * 启动完成后预先加载角色表，以免首个请求等待数据库。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void preload() {
+    reload();
+  }
+
+  /**
+   * 角色的资源版本号变更后重新加载角色表。
+   *
+   * @param event 资源版本号变更事件
+   */
+  @EventListener
+  public void onResourceVersionChanged(ResourceVersionChangedEvent event) {
+    if (RoleService.RESOURCE.equals(event.getResource())) reload();
+  }
+
+  /**
+   * 获取全部角色列表。
+   *
+   * @return 不可变的全部角色列表
+   */
+  public List<Role> findAll() {
+    return getSnapshot().roles;
+  }
+
+  /**
+   * 通过角色 id 获取角色数据。
+   *
+   * @param roleId 角色 id
+   * @return 角色数据的 {@link Optional} 包装对象
+   */
+  public Optional<Role> findByRoleId(int roleId) {
+    return Optional.ofNullable(getSnapshot().rolesById.get(roleId));
+  }
+
+  /**
+   * 检查是否已存在相同角色名。快照可能落后于并发的写操作，最终由角色名的唯一索引保证不重复。
+   *
+   * @param roleName 角色名
+   * @return true：已存在，false：不存在
+   */
+  public boolean existsByRoleName(String roleName) {
+    return getSnapshot().rolesByName.containsKey(roleName);
+  }
+
+  /**
+   * 保存角色数据。
+   *
+   * @param role 需要保存的角色数据
+   * @throws ConflictException 当角色名已存在时抛出
+   */
+  public void save(Role role) throws ConflictException {
+    try {
+      roleMapper.save(role);
+    } catch (DataAccessException e) {
+      throw toConflictIfDuplicateRoleName(e, role.getRoleName());
+    }
+    resourceVersions.bump(RoleService.RESOURCE);
+  }
+
+  /**
+   * 更新角色数据。
+   *
+   * @param role 需要更新的角色数据
+   * @throws ConflictException 当角色名已存在时抛出
+   */
+  public void update(Role role) throws ConflictException {
+    try {
+      roleMapper.update(role);
+    } catch (DataAccessException e) {
+      throw toConflictIfDuplicateRoleName(e, role.getRoleName());
+    }
+    resourceVersions.bump(RoleService.RESOURCE);
+  }
+
+  /**
+   * 删除角色。
+   *
+   * @param roleId 需要删除的角色 id
+   */
+  public void deleteByRoleId(int roleId) {
+    roleMapper.deleteByRoleId(roleId);
+    resourceVersions.bump(RoleService.RESOURCE);
+  }
+
+  private RuntimeException toConflictIfDuplicateRoleName(DataAccessException e, String roleName) {
+    Throwable cause = e.getMostSpecificCause();
+    boolean isDuplicate = cause instanceof SQLiteException &&
+      ((SQLiteException) cause).getResultCode() == SQLiteErrorCode.SQLITE_CONSTRAINT_UNIQUE;
+    if (!isDuplicate) return e;
+
+    return new ConflictException(StrUtil.format("已存在相同角色名 [{}]", roleName), e);
+  }
+
+  private RoleSnapshot getSnapshot() {
+    RoleSnapshot current = snapshot;
+    return current != null ? current : reload();
+  }
+
+  private synchronized RoleSnapshot reload() {
+    RoleSnapshot newSnapshot = new RoleSnapshot(roleMapper.findAll());
+    snapshot = newSnapshot;
+
+    log.debug("已加载角色 {} 个", newSnapshot.roles.size());
+    return newSnapshot;
+  }
+
+  private static class RoleSnapshot {
+
+    private final List<Role> roles;
+    private final Map<Integer, Role> rolesById;
+    private final Map<String, Role> rolesByName;
+
+    private RoleSnapshot(List<Role> roles) {
+      this.roles = List.copyOf(roles);
+      this.rolesById = roles.stream()
+        .collect(Collectors.toUnmodifiableMap(Role::getRoleId, Function.identity()));
+      this.rolesByName = roles.stream()
+        .filter(role -> role.getRoleName() != null)
+        .collect(Collectors.toUnmodifiableMap(Role::getRoleName, Function.identity(), (first, second) -> first));
+    }
+  }
+}
@@ -4,9 +4,10 @@ import cn.hutool.core.util.StrUtil;
 import lombok.RequiredArgsConstructor;
 import net.wuxianjie.springbootcore.exception.ConflictException;
 import net.wuxianjie.springbootcore.exception.NotFoundException;
+import net.wuxianjie.springbootcore.rest.ResourceVersions;
 import net.wuxianjie.springbootcore.util.StringUtils;
+import net.wuxianjie.web.security.RoleOfMenu;
 import net.wuxianjie.web.shared.SimpleResultOfWriteOperation;
-import net.wuxianjie.web.user.UserService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +23,14 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class RoleService {
 
-  private final RoleMapper roleMapper;
-  private final UserService userService;
+  /**
+   * 角色列表的资源名称，版本号由 {@link RoleRepository} 在写操作时递增。
+   *
+   * @see ResourceVersions
+   */
+  public static final String RESOURCE = "roles";
+
+  private final RoleRepository roleRepository;
 
   /**
    * 获取全部角色列表。
@@ -31,7 +38,7 @@ public class RoleService {
    * @return 角色列表
    */
   public List<Role> getAllRoles() {
-    return roleMapper.findAll();
+    return roleRepository.findAll();
   }
 
   /**
@@ -43,19 +50,19 @@ public class RoleService {
   @Transactional(rollbackFor = Exception.class)
   public SimpleResultOfWriteOperation saveRole(RequestOfSaveRole query) {
     // 校验并去重菜单编号字符串
-    userService.toDeduplicatedCommaSeparatedMenus(query.getMenus())
+    RoleOfMenu.toDeduplicatedCommaSeparatedMenus(query.getMenus())
       .ifPresent(query::setMenus);
 
     // 角色名唯一性校验
     String roleName = query.getRoleName();
-    boolean isExisted = roleMapper.existsByRoleName(roleName);
+    boolean isExisted = roleRepository.existsByRoleName(roleName);
     if (isExisted) throw new ConflictException(StrUtil.format("已存在相同角色名 [{}]", roleName));
 
     // 保存角色数据
     Role roleToSave = new Role();
     roleToSave.setRoleName(roleName);
     roleToSave.setMenus(query.getMenus());
-    roleMapper.save(roleToSave);
+    roleRepository.save(roleToSave);
 
     return new SimpleResultOfWriteOperation(StrUtil.format("新增角色 [{}]", roleName));
   }
@@ -69,19 +76,24 @@ public class RoleService {
   @Transactional(rollbackFor = Exception.class)
   public SimpleResultOfWriteOperation updateRole(RequestOfUpdateRole query) {
     // 校验并去重菜单编号字符串
-    userService.toDeduplicatedCommaSeparatedMenus(query.getMenus())
+    RoleOfMenu.toDeduplicatedCommaSeparatedMenus(query.getMenus())
       .ifPresent(query::setMenus);
 
     // 检查角色是否存在
-    Role oldRole = getRoleFromDatabaseMustBeExists(query.getRoleId());
+    Role oldRole = getRoleMustBeExists(query.getRoleId());
     String roleName = oldRole.getRoleName();
 
     // 检查是否需要更新
     Optional<Role> roleToUpdate = getRoleToUpdate(oldRole, query);
     if (roleToUpdate.isEmpty()) return new SimpleResultOfWriteOperation("无需修改");
 
+    // 角色名唯一性校验
+    String newRoleName = roleToUpdate.get().getRoleName();
+    boolean isExisted = newRoleName != null && roleRepository.existsByRoleName(newRoleName);
+    if (isExisted) throw new ConflictException(StrUtil.format("已存在相同角色名 [{}]", newRoleName));
+
     // 更新角色数据
-    roleMapper.update(roleToUpdate.get());
+    roleRepository.update(roleToUpdate.get());
 
     return new SimpleResultOfWriteOperation(StrUtil.format("修改角色 [{}]", roleName));
   }
@@ -95,17 +107,17 @@ public class RoleService {
   @Transactional(rollbackFor = Exception.class)
   public SimpleResultOfWriteOperation deleteRole(int roleId) {
     // 检查角色是否存在
-    Role roleToDel = getRoleFromDatabaseMustBeExists(roleId);
+    Role roleToDel = getRoleMustBeExists(roleId);
     String roleName = roleToDel.getRoleName();
 
     // 删除角色
-    roleMapper.deleteByRoleId(roleId);
+    roleRepository.deleteByRoleId(roleId);
 
     return new SimpleResultOfWriteOperation(StrUtil.format("删除角色 [{}]", roleName));
   }
 
-  private Role getRoleFromDatabaseMustBeExists(int roleId) {
-    return Optional.ofNullable(roleMapper.findByRoleId(roleId))
+  private Role getRoleMustBeExists(int roleId) {
+    return roleRepository.findByRoleId(roleId)
       .orElseThrow(() -> new NotFoundException(StrUtil.format("未找到角色 [roleId={}]", roleId)));
   }
 
@@ -0,0 +1,62 @@
+package net.wuxianjie.web.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import net.wuxianjie.springbootcore.security.TokenStore;
+import net.wuxianjie.web.user.CustomUserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * 只在当前进程内存储 Token 的默认实现，重启后全部用户需重新登录。
+ *
+ * <p>
+ * 在事务中调用时，移除及替换操作在事务提交后才执行，以免回滚的修改影响已登录用户。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see TokenCacheConfig#tokenCache(TokenStorePropertiesConfig)
+ */
+@RequiredArgsConstructor
+public class CaffeineTokenStore implements TokenStore<CustomUserDetails> {
+
+  private final Cache<String, CustomUserDetails> tokenCache;
+
+  @Override
+  public Optional<CustomUserDetails> get(String username) {
+    return Optional.ofNullable(tokenCache.getIfPresent(username));
+  }
+
+  @Override
+  public void put(CustomUserDetails userDetails) {
+    tokenCache.put(userDetails.getUsername(), userDetails);
+  }
+
+  @Override
+  public void remove(String username) {
+    afterCommit(() -> tokenCache.invalidate(username));
+  }
+
+  @Override
+  public void replaceIfPresent(String username, UnaryOperator<CustomUserDetails> remapping) {
+    // 由于缓存按写入时间过期，替换后会延长缓存时间，但此时 JWT 本身的有效期仍不变
+    afterCommit(() -> tokenCache.asMap().computeIfPresent(username, (k, userDetails) -> remapping.apply(userDetails)));
+  }
+
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -1,6 +1,7 @@
 package net.wuxianjie.web.security;
 
 import lombok.RequiredArgsConstructor;
+import net.wuxianjie.springbootcore.rest.ConditionalGet;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -20,9 +21,14 @@ public class MenuController {
   /**
    * 获取全部菜单项。
    *
+   * <p>
+   * 菜单树只取决于当前用户的角色，故 ETag 无需依赖任何资源版本号。
+   * </p>
+   *
    * @return 树形结构的全部菜单项数据
    */
   @GetMapping("list")
+  @ConditionalGet
   public MenuItem getAllMenus() {
     return menuService.getAllMenus();
   }
@@ -1,18 +1,20 @@
 package net.wuxianjie.web.security;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
 
 /**
- * 菜单项数据。
+ * 菜单项数据，不可变，故可在多个请求间共享。
  *
  * @author 吴仙杰
  */
-@Data
-@NoArgsConstructor
+@Getter
+@ToString
+@RequiredArgsConstructor
 @JsonInclude
 public class MenuItem {
 
@@ -21,28 +23,22 @@ public class MenuItem {
    *
    * @see RoleOfMenu#msg()
    */
-  private String name;
+  private final String name;
 
   /**
    * 菜单编号。
    *
    * @see RoleOfMenu#value()
    */
-  private String code;
+  private final String code;
 
   /**
-   * 当前用户是否拥有该菜单项。
+   * 当前用户是否拥有该菜单项，仅在用户拥有该菜单项但未拥有其上级菜单项时为 true，否则为 null。
    */
-  private Boolean has;
+  private final Boolean has;
 
   /**
-   * 子菜单项。
+   * 不可变的子菜单项，无子菜单项时为 null。
    */
-  private List<MenuItem> children;
-
-  public MenuItem(String name, String code, List<MenuItem> children) {
-    this.name = name;
-    this.code = code;
-    this.children = children;
-  }
+  private final List<MenuItem> children;
 }
@@ -0,0 +1,49 @@
+package net.wuxianjie.web.security;
+
+import net.wuxianjie.springbootcore.rest.HandlerAccessChecker;
+import net.wuxianjie.web.user.CustomUserDetails;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * 基于权限位掩码的菜单权限检查，供 {@link RequiresMenuAspect} 使用，亦可用于自定义的方法安全表达式：{@code @PreAuthorize("@menuPermission.has(T(...RoleOfMenu).ROLE_X)")}。
+ *
+ * <p>
+ * 角色层级已在登录时展开为 {@link CustomUserDetails#getMenuMask()}，故每次检查只需测试一位，
+ * 而无需像 {@code hasRole} 那样展开角色层级并遍历权限集合。
+ * </p>
+ *
+ * <p>
+ * 同时作为 {@link HandlerAccessChecker}，使条件请求在返回 304 前也会检查 {@link RequiresMenu}。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see RoleOfMenu#toEffectiveMask(String)
+ */
+@Component("menuPermission")
+public class MenuPermissionChecker implements HandlerAccessChecker {
+
+  /**
+   * 检查当前用户是否拥有指定菜单的权限。
+   *
+   * @param menu 菜单角色
+   * @return 拥有则返回 true，匿名访问时返回 false
+   */
+  public boolean has(RoleOfMenu menu) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null) return false;
+
+    Object principal = authentication.getPrincipal();
+    if (!(principal instanceof CustomUserDetails)) return false;
+
+    return ((CustomUserDetails) principal).hasMenu(menu);
+  }
+
+  @Override
+  public boolean canAccess(HandlerMethod handler) {
+    RequiresMenu requiresMenu = handler.getMethodAnnotation(RequiresMenu.class);
+    return requiresMenu == null || has(requiresMenu.value());
+  }
+}
@@ -2,12 +2,11 @@ package net.wuxianjie.web.security;
 
 import net.wuxianjie.springbootcore.security.AuthenticationUtils;
 import net.wuxianjie.springbootcore.security.TokenUserDetails;
+import net.wuxianjie.web.user.CustomUserDetails;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 菜单业务逻辑实现类。
@@ -17,51 +16,26 @@ import java.util.Optional;
 @Service
 public class MenuService {
 
+  /**
+   * 按有效权限位掩码缓存的不可变菜单树，菜单由枚举定义且不会变化，故无需失效。
+   *
+   * <p>
+   * 拥有相同有效权限的用户共享同一棵菜单树，而实际使用的不同权限组合很少，故无需限制缓存大小。
+   * </p>
+   */
+  private final Map<Long, MenuItem> menuTreeCache = new ConcurrentHashMap<>();
+
   /**
    * 获取全部菜单项
    *
-   * @return 树形结构的全部菜单项数据
+   * @return 树形结构的全部菜单项数据，并标记出当前用户所拥有的菜单项
    */
   public MenuItem getAllMenus() {
-    // 获取全部菜单项
-    MenuItem rootMenu = RoleOfMenu.getAllMenus();
-
-    // 过滤并只返回当前用户所绑定的菜单
-    // 因为硬编码最多三级菜单，故这里遍历三层即可
-    Optional<TokenUserDetails> user = AuthenticationUtils.getCurrentUser();
-    String roles = user.orElseThrow().getRoles();
-    List<String> codes = new ArrayList<>(Arrays.asList(roles.split(",")));
-    if (codes.contains(rootMenu.getCode())) {
-      rootMenu.setHas(true);
-      return rootMenu;
-    }
-
-    // 一级
-    List<MenuItem> children = rootMenu.getChildren();
-    for (MenuItem first : children) {
-      if (codes.contains(first.getCode())) {
-        first.setHas(true);
-        continue;
-      }
-
-      // 二级
-      for (MenuItem second : first.getChildren()) {
-        if (codes.contains(second.getCode())) {
-          second.setHas(true);
-          continue;
-        }
-
-        // 三级
-        if (second.getChildren() == null) continue;
-
-        for (MenuItem third : second.getChildren()) {
-          if (codes.contains(third.getCode())) {
-            third.setHas(true);
-          }
-        }
-      }
-    }
+    TokenUserDetails user = AuthenticationUtils.getCurrentUser().orElseThrow();
+    long menuMask = user instanceof CustomUserDetails
+      ? ((CustomUserDetails) user).getMenuMask()
+      : RoleOfMenu.toEffectiveMask(user.getRoles());
 
-    return rootMenu;
+    return menuTreeCache.computeIfAbsent(menuMask, RoleOfMenu::toMenuTree);
   }
 }
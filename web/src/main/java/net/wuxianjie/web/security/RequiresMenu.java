@@ -0,0 +1,29 @@
+package net.wuxianjie.web.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注需要指定菜单权限才可调用的方法，无权限时返回 403。
+ *
+ * <p>
+ * 检查时只需测试用户权限位掩码中的一位，无需解析 SpEL 表达式，也无需展开角色层级。
+ * 需要组合多个条件等自定义规则时，仍可使用 {@code @PreAuthorize}，且可在表达式中调用 {@code @menuPermission.has(...)}。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see RequiresMenuAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresMenu {
+
+  /**
+   * 所需的菜单角色，拥有其任一上级角色亦可。
+   *
+   * @return 菜单角色
+   */
+  RoleOfMenu value();
+}
@@ -0,0 +1,44 @@
+package net.wuxianjie.web.security;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 菜单权限检查切面类。
+ *
+ * <p>
+ * 角色层级已在启动时展开为各角色的有效权限位掩码，并在登录时合并为用户的权限位掩码，故每次调用只需测试一位。
+ * 该切面优先于其他切面执行，以确保无权限时不会执行任何其他切面逻辑；但须位于 {@link org.springframework.aop.interceptor.ExposeInvocationInterceptor} 之后，
+ * 否则无法绑定通知方法的注解参数。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see RequiresMenu
+ * @see MenuPermissionChecker
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class RequiresMenuAspect {
+
+  private final MenuPermissionChecker menuPermission;
+
+  /**
+   * 检查当前用户是否拥有方法所需的菜单权限。
+   *
+   * @param requiresMenu 方法上的 {@link RequiresMenu} 注解
+   * @throws AccessDeniedException 当用户无权限时抛出，由 Spring Security 返回 403
+   */
+  @Before("@annotation(requiresMenu)")
+  public void check(RequiresMenu requiresMenu) throws AccessDeniedException {
+    RoleOfMenu menu = requiresMenu.value();
+    if (!menuPermission.has(menu)) throw new AccessDeniedException(StrUtil.format("无菜单权限 [{}]", menu.name()));
+  }
+}
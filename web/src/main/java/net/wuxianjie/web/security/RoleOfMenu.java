@@ -1,15 +1,20 @@
 package net.wuxianjie.web.security;
 
+import cn.hutool.core.text.StrSplitter;
 import cn.hutool.core.util.StrUtil;
 import com.fasterxml.jackson.annotation.JsonValue;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.Accessors;
+import net.wuxianjie.springbootcore.exception.BadRequestException;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
 
 /**
  * 系统菜单项角色枚举类。
@@ -22,31 +27,65 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public enum RoleOfMenu {
 
-  ROLE_ROOT("root", "全部"),
+  ROLE_ROOT("root", "全部", null),
 
-  ROLE_SYS("sys", "系统管理"),
+  ROLE_SYS("sys", "系统管理", ROLE_ROOT),
 
-  ROLE_USER("user", "用户管理"),
-  ROLE_USER_LIST("user", "用户列表"),
-  ROLE_USER_ADD("user_add", "新增用户"),
-  ROLE_USER_UPDATE("user_update", "修改用户"),
-  ROLE_USER_RESET_PWD("user_reset_pwd", "重置密码"),
-  ROLE_USER_DEL("user_del", "删除用户"),
+  ROLE_USER("user", "用户管理", ROLE_SYS),
+  ROLE_USER_LIST("user", "用户列表", ROLE_USER),
+  ROLE_USER_ADD("user_add", "新增用户", ROLE_USER),
+  ROLE_USER_UPDATE("user_update", "修改用户", ROLE_USER),
+  ROLE_USER_RESET_PWD("user_reset_pwd", "重置密码", ROLE_USER),
+  ROLE_USER_DEL("user_del", "删除用户", ROLE_USER),
 
-  ROLE_ROLE("role", "角色管理"),
-  ROLE_ROLE_LIST("role", "角色列表"),
-  ROLE_ROLE_ADD("role_add", "新增角色"),
-  ROLE_ROLE_UPDATE("role_update", "修改角色"),
-  ROLE_ROLE_DEL("role_del", "删除角色"),
+  ROLE_ROLE("role", "角色管理", ROLE_SYS),
+  ROLE_ROLE_LIST("role", "角色列表", ROLE_ROLE),
+  ROLE_ROLE_ADD("role_add", "新增角色", ROLE_ROLE),
+  ROLE_ROLE_UPDATE("role_update", "修改角色", ROLE_ROLE),
+  ROLE_ROLE_DEL("role_del", "删除角色", ROLE_ROLE),
 
-  ROLE_LOGIN_LOG("login_log", "登录日志"),
+  ROLE_LOGIN_LOG("login_log", "登录日志", ROLE_SYS),
 
-  ROLE_OP_LOG("op_log", "操作日志");
+  ROLE_OP_LOG("op_log", "操作日志", ROLE_SYS);
 
   private static final RoleOfMenu[] VALUES;
 
+  /**
+   * 各角色的有效权限位掩码，即自身及全部下级角色（层级闭包）所对应的位，按 {@link #ordinal()} 索引。
+   */
+  private static final long[] EFFECTIVE_MASKS;
+
+  /**
+   * 各角色的直接下级角色，按声明顺序排列，按 {@link #ordinal()} 索引。
+   */
+  private static final List<List<RoleOfMenu>> CHILDREN;
+
   static {
     VALUES = values();
+
+    if (VALUES.length > Long.SIZE) throw new IllegalStateException("角色数量超出位掩码的容量");
+
+    // 上级角色总是先于下级角色声明，故逆序遍历即可将下级角色的位逐层并入上级角色
+    EFFECTIVE_MASKS = new long[VALUES.length];
+    for (int i = VALUES.length - 1; i >= 0; i--) {
+      RoleOfMenu role = VALUES[i];
+      EFFECTIVE_MASKS[i] |= role.mask();
+
+      if (role.parent != null) EFFECTIVE_MASKS[role.parent.ordinal()] |= EFFECTIVE_MASKS[i];
+    }
+
+    List<List<RoleOfMenu>> children = new ArrayList<>(VALUES.length);
+    for (RoleOfMenu ignored : VALUES) {
+      children.add(new ArrayList<>());
+    }
+
+    for (RoleOfMenu role : VALUES) {
+      if (role.parent != null) children.get(role.parent.ordinal()).add(role);
+    }
+
+    CHILDREN = children.stream()
+      .map(List::copyOf)
+      .collect(Collectors.toUnmodifiableList());
   }
 
   /**
@@ -60,82 +99,82 @@ public enum RoleOfMenu {
    */
   private final String msg;
 
+  /**
+   * 上级角色，拥有上级角色即拥有其全部下级角色，顶级角色为 null。
+   */
+  private final RoleOfMenu parent;
+
+  /**
+   * 获取该角色在权限位掩码中所对应的位。
+   *
+   * @return 只有一位为 1 的位掩码
+   */
+  public long mask() {
+    return 1L << ordinal();
+  }
+
+  /**
+   * 获取拥有该角色时的有效权限位掩码，已包含全部下级角色。
+   *
+   * @return 有效权限位掩码
+   */
+  public long effectiveMask() {
+    return EFFECTIVE_MASKS[ordinal()];
+  }
+
+  /**
+   * 将以英文逗号分隔的菜单编号字符串转换为有效权限位掩码，推荐在登录时调用一次并保存结果。
+   *
+   * @param commaSeparatedMenus 以英文逗号分隔的菜单编号字符串
+   * @return 有效权限位掩码，非法的菜单编号会被忽略
+   */
+  public static long toEffectiveMask(String commaSeparatedMenus) {
+    if (StrUtil.isBlank(commaSeparatedMenus)) return 0L;
+
+    long mask = 0L;
+    for (String menu : commaSeparatedMenus.split(",")) {
+      mask |= resolve(menu.strip())
+        .map(RoleOfMenu::effectiveMask)
+        .orElse(0L);
+    }
+
+    return mask;
+  }
+
+  /**
+   * 检查有效权限位掩码是否包含指定角色。
+   *
+   * @param effectiveMask 有效权限位掩码
+   * @param role          需要检查的角色
+   * @return 包含则返回 true
+   */
+  public static boolean hasRole(long effectiveMask, RoleOfMenu role) {
+    return (effectiveMask & role.mask()) != 0;
+  }
+
   /**
    * 获取符合 Spring Security 的角色层级结构字符串。
    *
    * @return 角色层级结构字符串
    */
   public static String getRoleHierarchyStr() {
-    String template = "{} > {}\n" +
-
-      "{} > {}\n" +
-      "{} > {}\n" +
-      "{} > {}\n" +
-      "{} > {}\n" +
-      "{} > {}\n" +
-      "{} > {}\n" +
-
-      "{} > {}\n" +
-      "{} > {}\n" +
-      "{} > {}\n" +
-      "{} > {}\n" +
-      "{} > {}\n" +
-
-      "{} > {}\n" +
-
-      "{} > {}";
-
-    return StrUtil.format(
-      template,
-      ROLE_ROOT.name(), ROLE_SYS.name(),
-
-      ROLE_SYS.name(), ROLE_USER.name(),
-      ROLE_USER.name(), ROLE_USER_LIST.name(),
-      ROLE_USER.name(), ROLE_USER_ADD.name(),
-      ROLE_USER.name(), ROLE_USER_UPDATE.name(),
-      ROLE_USER.name(), ROLE_USER_RESET_PWD.name(),
-      ROLE_USER.name(), ROLE_USER_DEL.name(),
-
-      ROLE_SYS.name(), ROLE_ROLE.name(),
-      ROLE_ROLE.name(), ROLE_ROLE_LIST.name(),
-      ROLE_ROLE.name(), ROLE_ROLE_ADD.name(),
-      ROLE_ROLE.name(), ROLE_ROLE_UPDATE.name(),
-      ROLE_ROLE.name(), ROLE_ROLE_DEL.name(),
-
-      ROLE_SYS.name(), ROLE_LOGIN_LOG.name(),
-
-      ROLE_SYS.name(), ROLE_OP_LOG.name()
-    );
+    StringJoiner hierarchy = new StringJoiner("\n");
+    for (RoleOfMenu role : VALUES) {
+      if (role.parent != null) hierarchy.add(role.parent.name() + " > " + role.name());
+    }
+
+    return hierarchy.toString();
   }
 
   /**
-   * 获取全部菜单项。
+   * 获取树形结构的全部菜单项，并标记出用户所拥有的最上级菜单项，支持任意层级。
    *
-   * @return 树形结构的全部菜单项数据
+   * @param effectiveMask 用户的有效权限位掩码
+   * @return 以 {@link #ROLE_ROOT} 为根的全部菜单项数据
+   * @see #toEffectiveMask(String)
    */
-  public static MenuItem getAllMenus() {
-    return new MenuItem(ROLE_ROOT.msg, ROLE_ROOT.value, new ArrayList<>() {{
-      add(new MenuItem(ROLE_SYS.msg, ROLE_SYS.value, new ArrayList<>() {{
-        add(new MenuItem(ROLE_USER.msg, ROLE_USER.value, new ArrayList<>() {{
-          add(new MenuItem(ROLE_USER_LIST.msg, ROLE_USER_LIST.value, null));
-          add(new MenuItem(ROLE_USER_ADD.msg, ROLE_USER_ADD.value, null));
-          add(new MenuItem(ROLE_USER_UPDATE.msg, ROLE_USER_UPDATE.value, null));
-          add(new MenuItem(ROLE_USER_RESET_PWD.msg, ROLE_USER_RESET_PWD.value, null));
-          add(new MenuItem(ROLE_USER_DEL.msg, ROLE_USER_DEL.value, null));
-        }}));
-
-        add(new MenuItem(ROLE_ROLE.msg, ROLE_ROLE.value, new ArrayList<>() {{
-          add(new MenuItem(ROLE_ROLE_LIST.msg, ROLE_ROLE_LIST.value, null));
-          add(new MenuItem(ROLE_ROLE_ADD.msg, ROLE_ROLE_ADD.value, null));
-          add(new MenuItem(ROLE_ROLE_UPDATE.msg, ROLE_ROLE_UPDATE.value, null));
-          add(new MenuItem(ROLE_ROLE_DEL.msg, ROLE_ROLE_DEL.value, null));
-        }}));
-
-        add(new MenuItem(ROLE_LOGIN_LOG.msg, ROLE_LOGIN_LOG.value, null));
-
-        add(new MenuItem(ROLE_OP_LOG.msg, ROLE_OP_LOG.value, null));
-      }}));
-    }});
+  public static MenuItem toMenuTree(long effectiveMask) {
+    return toMenuItem(ROLE_ROOT, effectiveMask);
   }
 
   /**
@@ -150,4 +189,43 @@ public enum RoleOfMenu {
         .filter(role -> StrUtil.equals(val, role.value))
         .findFirst());
   }
+
+  /**
+   * 校验并去重菜单编号字符串。
+   *
+   * @param commaSeparatedMenus 以英文逗号分隔的菜单编号字符串
+   * @return 以英文逗号分隔的菜单编号字符串的 {@link Optional} 包装对象
+   * @throws BadRequestException 当包含非法菜单编号时抛出
+   */
+  public static Optional<String> toDeduplicatedCommaSeparatedMenus(String commaSeparatedMenus) throws BadRequestException {
+    return Optional.ofNullable(StrUtil.trimToNull(commaSeparatedMenus))
+      .flatMap(m -> {
+        String[] menus = StrSplitter.splitToArray(m, ',', 0, true, true);
+
+        if (menus.length == 0) return Optional.empty();
+
+        boolean hasAnyInvalidMenu = Arrays.stream(menus)
+          .anyMatch(menu -> resolve(menu).isEmpty());
+
+        if (hasAnyInvalidMenu) throw new BadRequestException("包含非法菜单编号");
+
+        return Optional.of(Arrays.stream(menus)
+          .distinct()
+          .collect(Collectors.joining(",")));
+      });
+  }
+
+  private static MenuItem toMenuItem(RoleOfMenu role, long effectiveMask) {
+    // 拥有该菜单项但未拥有其上级菜单项（即未由上级菜单项继承而来）时才标记
+    boolean has = hasRole(effectiveMask, role) && (role.parent == null || !hasRole(effectiveMask, role.parent));
+
+    List<RoleOfMenu> childRoles = CHILDREN.get(role.ordinal());
+    List<MenuItem> children = childRoles.isEmpty()
+      ? null
+      : childRoles.stream()
+      .map(child -> toMenuItem(child, effectiveMask))
+      .collect(Collectors.toUnmodifiableList());
+
+    return new MenuItem(role.msg, role.value, has ? Boolean.TRUE : null, children);
+  }
 }
@@ -0,0 +1,111 @@
+package net.wuxianjie.web.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wuxianjie.springbootcore.security.AuthenticationUtils;
+import net.wuxianjie.springbootcore.security.TokenStore;
+import net.wuxianjie.web.user.CustomUserDetails;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * 将 Token 保存于应用数据库的实现，重启后用户无需重新登录，且使用同一数据库文件的多个实例可共享登录状态。
+ *
+ * <p>
+ * 读取时优先使用进程内的近端缓存，未命中时才查询数据库；本实例的写操作会同时更新近端缓存，
+ * 其他实例的写操作则最迟在近端缓存过期（{@code web.token-store.near-cache-ttl-seconds}）后生效。
+ * </p>
+ *
+ * <p>
+ * 写操作加入调用方已开启的事务（例如 {@link TokenRevocationListener} 在用户数据的事务提交前调用），与其一并提交或回滚；
+ * 近端缓存在事务提交后再次失效，以免其他线程在提交前读到旧数据并回填。
+ * </p>
+ *
+ * @author 吴仙杰
+ * @see TokenStorePropertiesConfig
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqliteTokenStore implements TokenStore<CustomUserDetails> {
+
+  private final Cache<String, CustomUserDetails> nearCache;
+  private final TokenSessionMapper tokenSessionMapper;
+  private final TransactionTemplate transactionTemplate;
+
+  @Override
+  public Optional<CustomUserDetails> get(String username) {
+    return Optional.ofNullable(nearCache.get(username, this::load));
+  }
+
+  @Override
+  public void put(CustomUserDetails userDetails) {
+    long expiresAtMillis = System.currentTimeMillis() +
+      TimeUnit.SECONDS.toMillis(TokenAttributes.EXPIRES_IN_SECONDS_VALUE);
+
+    // 写操作需在事务中执行，以使用写连接
+    transactionTemplate.executeWithoutResult(status -> tokenSessionMapper.saveOrReplace(userDetails, expiresAtMillis));
+    nearCache.put(userDetails.getUsername(), userDetails);
+  }
+
+  @Override
+  public void remove(String username) {
+    transactionTemplate.executeWithoutResult(status -> tokenSessionMapper.deleteByUsername(username));
+    evictNearCache(username);
+  }
+
+  @Override
+  public void replaceIfPresent(String username, UnaryOperator<CustomUserDetails> remapping) {
+    // 以数据库中的数据为准，而非可能已过时的近端缓存
+    transactionTemplate.executeWithoutResult(status -> Optional.ofNullable(load(username))
+      .map(remapping)
+      .ifPresent(tokenSessionMapper::updateByUsername));
+    evictNearCache(username);
+  }
+
+  /**
+   * 删除已过期的 Token，默认每 10 分钟执行一次。
+   */
+  @Scheduled(cron = "#{@tokenStorePropertiesConfig.purgeCron}")
+  public void removeExpiredTokens() {
+    Integer deleted = transactionTemplate.execute(status ->
+      tokenSessionMapper.deleteByExpiresAtBefore(System.currentTimeMillis()));
+
+    if (deleted != null && deleted > 0) log.info("已删除过期 Token {} 条", deleted);
+  }
+
+  private CustomUserDetails load(String username) {
+    CustomUserDetails userDetails = tokenSessionMapper.findByUsernameAndExpiresAtAfter(username, System.currentTimeMillis());
+    if (userDetails == null) return null;
+
+    // 权限列表及位掩码不入库，由角色重新构建
+    userDetails.setAuthorities(AuthenticationUtils.toAuthorities(userDetails.getRoles()));
+    userDetails.setMenuMask(RoleOfMenu.toEffectiveMask(userDetails.getRoles()));
+    return userDetails;
+  }
+
+  private void evictNearCache(String username) {
+    nearCache.invalidate(username);
+    afterCommit(() -> nearCache.invalidate(username));
+  }
+
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -2,14 +2,20 @@ package net.wuxianjie.web.security;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import net.wuxianjie.springbootcore.security.TokenStore;
 import net.wuxianjie.web.user.CustomUserDetails;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.concurrent.TimeUnit;
 
 /**
- * Token 缓存配置类。
+ * Token 缓存及存储配置类。
  *
  * @author 吴仙杰
  */
@@ -17,14 +23,103 @@ import java.util.concurrent.TimeUnit;
 public class TokenCacheConfig {
 
   /**
-   * Token 本地缓存。
+   * 已验证 Token 缓存的最大条目数。
+   */
+  private static final int VERIFIED_TOKEN_MAXIMUM_SIZE = 10_000;
+
+  /**
+   * Token 本地缓存：使用内存存储时即为存储本身，使用 SQLite 存储时则为近端缓存。
    *
+   * @param tokenStoreConfig Token 存储的配置属性
    * @return {username : {@link CustomUserDetails}}
    */
   @Bean
-  public Cache<String, CustomUserDetails> tokenCache() {
+  public Cache<String, CustomUserDetails> tokenCache(TokenStorePropertiesConfig tokenStoreConfig) {
+    int expiresInSeconds = tokenStoreConfig.isSqlite()
+      ? tokenStoreConfig.getNearCacheTtlSeconds()
+      : TokenAttributes.EXPIRES_IN_SECONDS_VALUE;
+
     return Caffeine.newBuilder()
-      .expireAfterWrite(TokenAttributes.EXPIRES_IN_SECONDS_VALUE, TimeUnit.SECONDS)
+      .expireAfterWrite(expiresInSeconds, TimeUnit.SECONDS)
+      .recordStats()
       .build();
   }
+
+  /**
+   * 只在当前进程内存储的 Token 存储，为默认实现。
+   *
+   * @param tokenCache Token 本地缓存
+   * @return {@link CaffeineTokenStore}
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "web.token-store", name = "type", havingValue = TokenStorePropertiesConfig.MEMORY_TYPE, matchIfMissing = true)
+  public TokenStore<CustomUserDetails> memoryTokenStore(Cache<String, CustomUserDetails> tokenCache) {
+    return new CaffeineTokenStore(tokenCache);
+  }
+
+  /**
+   * 保存于应用数据库的 Token 存储，前置 {@link #tokenCache(TokenStorePropertiesConfig)} 作为近端缓存。
+   *
+   * @param tokenCache          Token 本地缓存
+   * @param tokenSessionMapper  Token 表的 SQL
+   * @param transactionTemplate 用于使用写连接的事务模板
+   * @return {@link SqliteTokenStore}
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "web.token-store", name = "type", havingValue = TokenStorePropertiesConfig.SQLITE_TYPE)
+  public TokenStore<CustomUserDetails> sqliteTokenStore(Cache<String, CustomUserDetails> tokenCache,
+                                                        TokenSessionMapper tokenSessionMapper,
+                                                        TransactionTemplate transactionTemplate) {
+    return new SqliteTokenStore(tokenCache, tokenSessionMapper, transactionTemplate);
+  }
+
+  /**
+   * 已通过签名验证的 Token 本地缓存，每条缓存均在 Token 过期时失效。
+   *
+   * <p>
+   * 仅用于跳过重复的签名验证及载荷解析，Token 是否已弃用仍以 {@link TokenStore} 为准。
+   * </p>
+   *
+   * @return {Token 的 SHA-256 摘要 : {@link VerifiedToken}}
+   */
+  @Bean
+  public Cache<String, VerifiedToken> verifiedTokenCache() {
+    return Caffeine.newBuilder()
+      .maximumSize(VERIFIED_TOKEN_MAXIMUM_SIZE)
+      .expireAfter(new Expiry<String, VerifiedToken>() {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+          long remainingMillis = value.getExpiresAtMillis() - System.currentTimeMillis();
+          return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+          return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+          return currentDuration;
+        }
+      })
+      .recordStats()
+      .build();
+  }
+
+  /**
+   * 将 Token 缓存的命中、未命中及驱逐次数注册为 Micrometer 指标（{@code cache.gets}、{@code cache.evictions} 等）。
+   *
+   * @param tokenCache         Token 本地缓存
+   * @param verifiedTokenCache 已通过签名验证的 Token 本地缓存
+   * @return 缓存指标
+   */
+  @Bean
+  public MeterBinder tokenCacheMetrics(Cache<String, CustomUserDetails> tokenCache,
+                                       Cache<String, VerifiedToken> verifiedTokenCache) {
+    return registry -> {
+      CaffeineCacheMetrics.monitor(registry, tokenCache, "tokenCache");
+      CaffeineCacheMetrics.monitor(registry, verifiedTokenCache, "verifiedTokenCache");
+    };
+  }
 }
@@ -0,0 +1,78 @@
+package net.wuxianjie.web.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.wuxianjie.springbootcore.security.AuthenticationUtils;
+import net.wuxianjie.springbootcore.security.TokenStore;
+import net.wuxianjie.web.user.CustomUserDetails;
+import net.wuxianjie.web.user.UserAuthorizationChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 监听用户授权变更事件，使权限变更在下一次请求时即生效，而无需每次请求都查询数据库。
+ *
+ * <p>
+ * 禁用、删除及重置密码时直接移除已保存的 Token（后续请求返回 Token 已过期）；修改菜单时保留 Token，仅改写其中的权限列表。
+ * 事件在事务提交前处理：{@link SqliteTokenStore} 对 Token 表的修改与用户数据的修改处于同一事务，一并提交或回滚；
+ * 进程内缓存则由各 {@link TokenStore} 实现在事务提交后才修改，故回滚的修改不会影响已登录用户。
+ * 若在提交后再处理，事务已结束但唯一的写连接尚未释放，此时既无法加入原事务，也无法开启新事务。
+ * </p>
+ *
+ * <p>
+ * 处理次数记录在 {@value #REVOCATION_COUNTER_NAME} 指标中，按变更类型（{@code type}）区分。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@Slf4j
+@Component
+public class TokenRevocationListener {
+
+  /**
+   * 授权变更处理次数的指标名。
+   */
+  public static final String REVOCATION_COUNTER_NAME = "web.token.revocation";
+
+  private final TokenStore<CustomUserDetails> tokenStore;
+  private final MeterRegistry meterRegistry;
+
+  public TokenRevocationListener(TokenStore<CustomUserDetails> tokenStore, MeterRegistry meterRegistry) {
+    this.tokenStore = tokenStore;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * 吊销或改写已登录用户的 Token 缓存。
+   *
+   * @param event 用户授权变更事件
+   */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onUserAuthorizationChanged(UserAuthorizationChangedEvent event) {
+    String username = event.getUsername();
+    UserAuthorizationChangedEvent.ChangeType changeType = event.getChangeType();
+
+    if (changeType.isRevocation()) {
+      tokenStore.remove(username);
+    } else {
+      tokenStore.replaceIfPresent(username, userDetails -> new CustomUserDetails(
+        userDetails.getUserId(),
+        userDetails.getUsername(),
+        event.getMenus(),
+        userDetails.getAccessToken(),
+        userDetails.getRefreshToken(),
+        AuthenticationUtils.toAuthorities(event.getMenus()),
+        RoleOfMenu.toEffectiveMask(event.getMenus())
+      ));
+    }
+
+    log.info("已处理用户授权变更 [username={};type={}]", username, changeType);
+
+    Counter.builder(REVOCATION_COUNTER_NAME)
+      .tag("type", changeType.name().toLowerCase())
+      .register(meterRegistry)
+      .increment();
+  }
+}
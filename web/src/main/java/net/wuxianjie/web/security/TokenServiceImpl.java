@@ -1,23 +1,23 @@
 package net.wuxianjie.web.security;
 
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
 import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import net.wuxianjie.springbootcore.exception.TokenAuthenticationException;
 import net.wuxianjie.springbootcore.mybatis.YesOrNo;
-import net.wuxianjie.springbootcore.security.SecurityPropertiesConfig;
 import net.wuxianjie.springbootcore.security.TokenData;
 import net.wuxianjie.springbootcore.security.TokenService;
-import net.wuxianjie.springbootcore.util.JwtUtils;
+import net.wuxianjie.springbootcore.security.TokenStore;
+import net.wuxianjie.springbootcore.util.JwtCodec;
 import net.wuxianjie.web.user.CustomUserDetails;
-import net.wuxianjie.web.user.User;
 import net.wuxianjie.web.user.UserService;
+import net.wuxianjie.web.user.UserSnapshot;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Access Token 业务逻辑实现类。
@@ -28,30 +28,25 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TokenServiceImpl implements TokenService {
 
-  private final SecurityPropertiesConfig securityConfig;
+  private final JwtCodec jwtCodec;
   private final PasswordEncoder passwordEncoder;
-  private final Cache<String, CustomUserDetails> tokenCache;
+  private final TokenStore<CustomUserDetails> tokenStore;
+  private final Cache<String, VerifiedToken> verifiedTokenCache;
   private final UserService userService;
 
   @Override
   public CustomUserDetails authenticate(String accessToken) throws TokenAuthenticationException {
-    // 验证并解析 JWT
-    Map<String, Object> payload = JwtUtils.verifyJwt(securityConfig.getJwtSigningKey(), accessToken);
+    // 验证并解析 JWT，已验证过的 Access Token 直接使用缓存的解析结果
+    VerifiedToken verifiedToken = verifyAccessToken(accessToken);
 
-    // 检查是否为 Access Token
-    String tokenType = TokenUtils.getTokenType(payload);
-    boolean isAccessToken = StrUtil.equals(tokenType, TokenAttributes.ACCESS_TOKEN_TYPE_VALUE);
-    if (!isAccessToken) throw new TokenAuthenticationException(StrUtil.format("该 Token 不可用于 API 鉴权 [{}]", tokenType));
-
-    // 从缓存中获取用户数据
-    String username = TokenUtils.getUsername(payload);
-    return getUserFromCache(username, accessToken);
+    // 获取已登录用户数据
+    return getUserFromStore(verifiedToken.getUsername(), accessToken);
   }
 
   @Override
   public TokenData getToken(String username, String password) throws TokenAuthenticationException {
     // 检查用户是否存在
-    User user = userService.getUserFromDatabaseMustBeExists(username);
+    UserSnapshot user = userService.getUserSnapshotMustBeExists(username);
 
     // 检查用户是否启用
     checkForUserIsEnabled(user);
@@ -63,8 +58,8 @@ public class TokenServiceImpl implements TokenService {
     // 生成 JWT
     TokenData token = createToken(user);
 
-    // 将 JWT 存入缓存
-    addToCache(user, token);
+    // 保存 JWT
+    addToStore(user, token);
 
     return token;
   }
@@ -72,19 +67,19 @@ public class TokenServiceImpl implements TokenService {
   @Override
   public TokenData refreshToken(String refreshToken) throws TokenAuthenticationException {
     // 验证并解析 JWT
-    Map<String, Object> payload = JwtUtils.verifyJwt(securityConfig.getJwtSigningKey(), refreshToken);
+    Map<String, Object> payload = jwtCodec.verifyJwt(refreshToken);
 
     // 检查是否为 Refresh Token
     String tokenType = TokenUtils.getTokenType(payload);
     boolean isRefreshToken = StrUtil.equals(tokenType, TokenAttributes.REFRESH_TOKEN_TYPE_VALUE);
     if (!isRefreshToken) throw new TokenAuthenticationException(StrUtil.format("该 Token 不可用于刷新 [{}]", tokenType));
 
-    // 检查缓存中是否存在该 Refresh Token
+    // 检查是否存在该 Refresh Token
     String username = TokenUtils.getUsername(payload);
     checkForRefreshTokenExists(username, refreshToken);
 
     // 检查用户是否存在
-    User user = userService.getUserFromDatabaseMustBeExists(username);
+    UserSnapshot user = userService.getUserSnapshotMustBeExists(username);
 
     // 检查用户是否启用
     checkForUserIsEnabled(user);
@@ -92,14 +87,35 @@ public class TokenServiceImpl implements TokenService {
     // 生成 JWT
     TokenData token = createToken(user);
 
-    // 将 JWT 存入缓存
-    addToCache(user, token);
+    // 保存 JWT
+    addToStore(user, token);
 
     return token;
   }
 
-  private CustomUserDetails getUserFromCache(String username, String accessToken) {
-    return Optional.ofNullable(tokenCache.getIfPresent(username))
+  private VerifiedToken verifyAccessToken(String accessToken) {
+    String tokenDigest = DigestUtil.sha256Hex(accessToken);
+    VerifiedToken cachedToken = verifiedTokenCache.getIfPresent(tokenDigest);
+    if (cachedToken != null) return cachedToken;
+
+    Map<String, Object> payload = jwtCodec.verifyJwt(accessToken);
+
+    // 检查是否为 Access Token
+    String tokenType = TokenUtils.getTokenType(payload);
+    boolean isAccessToken = StrUtil.equals(tokenType, TokenAttributes.ACCESS_TOKEN_TYPE_VALUE);
+    if (!isAccessToken) throw new TokenAuthenticationException(StrUtil.format("该 Token 不可用于 API 鉴权 [{}]", tokenType));
+
+    VerifiedToken verifiedToken = new VerifiedToken(
+      tokenType,
+      TokenUtils.getUsername(payload),
+      TokenUtils.getExpiresAtMillis(payload)
+    );
+    verifiedTokenCache.put(tokenDigest, verifiedToken);
+    return verifiedToken;
+  }
+
+  private CustomUserDetails getUserFromStore(String username, String accessToken) {
+    return tokenStore.get(username)
       .map(userDetails -> {
         boolean equalsAccessToken = StrUtil.equals(accessToken, userDetails.getAccessToken());
         if (!equalsAccessToken) throw new TokenAuthenticationException(StrUtil.format("Token 已弃用 [{}]", username));
@@ -109,12 +125,12 @@ public class TokenServiceImpl implements TokenService {
       .orElseThrow(() -> new TokenAuthenticationException(StrUtil.format("Token 已过期 [{}]", username)));
   }
 
-  private void checkForUserIsEnabled(User user) {
+  private void checkForUserIsEnabled(UserSnapshot user) {
     boolean isDisabled = user.getEnabled() != YesOrNo.YES;
     if (isDisabled) throw new TokenAuthenticationException(StrUtil.format("用户已禁用 [{}]", user.getUsername()));
   }
 
-  private TokenData createToken(User user) {
+  private TokenData createToken(UserSnapshot user) {
     Map<String, Object> payload = new HashMap<>();
     payload.put(TokenAttributes.USERNAME_KEY, user.getUsername());
     payload.put(TokenAttributes.MENU_KEY, user.getMenus());
@@ -131,27 +147,25 @@ public class TokenServiceImpl implements TokenService {
 
   private String createToken(Map<String, Object> payload, String tokenType) {
     payload.put(TokenAttributes.TOKEN_TYPE_KEY, tokenType);
-    return JwtUtils.createJwt(
-      securityConfig.getJwtSigningKey(),
-      payload,
-      TokenAttributes.EXPIRES_IN_SECONDS_VALUE
-    );
+    return jwtCodec.createJwt(payload, TokenAttributes.EXPIRES_IN_SECONDS_VALUE);
   }
 
-  private void addToCache(User user, TokenData token) {
+  private void addToStore(UserSnapshot user, TokenData token) {
     CustomUserDetails userDetails = new CustomUserDetails(
       user.getUserId(),
       user.getUsername(),
       user.getMenus(),
       token.getAccessToken(),
-      token.getRefreshToken()
+      token.getRefreshToken(),
+      user.getAuthorities(),
+      user.getMenuMask()
     );
 
-    tokenCache.put(user.getUsername(), userDetails);
+    tokenStore.put(userDetails);
   }
 
   private void checkForRefreshTokenExists(String username, String refreshToken) {
-    Optional.ofNullable(tokenCache.getIfPresent(username))
+    tokenStore.get(username)
       .ifPresentOrElse(
         u -> {
           boolean equalsRefreshToken = StrUtil.equals(refreshToken, u.getRefreshToken());
@@ -0,0 +1,56 @@
+package net.wuxianjie.web.security;
+
+import net.wuxianjie.web.user.CustomUserDetails;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 与 Token 表相关的 SQL。
+ *
+ * @author 吴仙杰
+ * @see SqliteTokenStore
+ */
+@Mapper
+public interface TokenSessionMapper {
+
+  /**
+   * 获取指定用户尚未过期的 Token，其中不包含权限列表。
+   *
+   * @param username  用户名
+   * @param nowMillis 当前时间的 Unix 时间戳，单位毫秒
+   * @return 用户详细数据
+   */
+  CustomUserDetails findByUsernameAndExpiresAtAfter(@Param("username") String username,
+                                                    @Param("nowMillis") long nowMillis);
+
+  /**
+   * 保存 Token，已存在时则覆盖。
+   *
+   * @param userDetails     用户详细数据
+   * @param expiresAtMillis 过期时间的 Unix 时间戳，单位毫秒
+   */
+  void saveOrReplace(@Param("u") CustomUserDetails userDetails,
+                     @Param("expiresAtMillis") long expiresAtMillis);
+
+  /**
+   * 更新 Token 中的用户数据，不改变过期时间。
+   *
+   * @param userDetails 用户详细数据
+   */
+  void updateByUsername(CustomUserDetails userDetails);
+
+  /**
+   * 删除指定用户的 Token。
+   *
+   * @param username 用户名
+   */
+  void deleteByUsername(String username);
+
+  /**
+   * 删除已过期的 Token。
+   *
+   * @param nowMillis 当前时间的 Unix 时间戳，单位毫秒
+   * @return 删除的条数
+   */
+  int deleteByExpiresAtBefore(long nowMillis);
+}
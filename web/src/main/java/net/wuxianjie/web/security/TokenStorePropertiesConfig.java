@@ -0,0 +1,60 @@
+package net.wuxianjie.web.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
+
+/**
+ * Token 存储的配置属性配置类。
+ *
+ * @author 吴仙杰
+ * @see TokenCacheConfig
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "web.token-store")
+public class TokenStorePropertiesConfig {
+
+  /**
+   * 内存存储。
+   */
+  public static final String MEMORY_TYPE = "memory";
+
+  /**
+   * SQLite 存储。
+   */
+  public static final String SQLITE_TYPE = "sqlite";
+
+  /**
+   * 存储类型：memory（仅当前进程，重启后需重新登录），sqlite（保存于应用数据库，重启后仍有效，且可供同一主机上的多个实例共享）。
+   */
+  @Pattern(message = "Token 存储类型只能为 memory 或 sqlite", regexp = "^(memory|sqlite)$")
+  private String type = MEMORY_TYPE;
+
+  /**
+   * 使用 SQLite 存储时近端缓存的存活时间，单位秒，即其他实例吊销 Token 后在本实例生效的最长延迟。
+   */
+  @Min(message = "近端缓存存活时间不能小于 1 秒", value = 1)
+  private int nearCacheTtlSeconds = 5;
+
+  /**
+   * 使用 SQLite 存储时清理过期 Token 的 cron 表达式。
+   *
+   * @see SqliteTokenStore#removeExpiredTokens()
+   */
+  private String purgeCron = "0 */10 * * * ?";
+
+  /**
+   * 是否使用 SQLite 存储。
+   *
+   * @return 使用 SQLite 存储时返回 true
+   */
+  public boolean isSqlite() {
+    return SQLITE_TYPE.equals(type);
+  }
+}
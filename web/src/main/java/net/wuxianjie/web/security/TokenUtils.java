@@ -1,6 +1,7 @@
 package net.wuxianjie.web.security;
 
 import cn.hutool.core.util.StrUtil;
+import io.jsonwebtoken.Claims;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import net.wuxianjie.springbootcore.exception.TokenAuthenticationException;
@@ -39,4 +40,17 @@ class TokenUtils {
     return Optional.ofNullable((String) payload.get(TokenAttributes.USERNAME_KEY))
       .orElseThrow(() -> new TokenAuthenticationException(StrUtil.format("Token 缺少载荷 [{}]", TokenAttributes.USERNAME_KEY)));
   }
+
+  /**
+   * 获取 Token 的过期时间。
+   *
+   * @param payload JWT 载荷
+   * @return 过期时间，即 Unix 时间戳，单位毫秒
+   * @throws TokenAuthenticationException 当 Token 载荷中缺少过期时间时抛出
+   */
+  public static long getExpiresAtMillis(Map<String, Object> payload) throws TokenAuthenticationException {
+    return Optional.ofNullable((Number) payload.get(Claims.EXPIRATION))
+      .map(exp -> exp.longValue() * 1000)
+      .orElseThrow(() -> new TokenAuthenticationException(StrUtil.format("Token 缺少载荷 [{}]", Claims.EXPIRATION)));
+  }
 }
@@ -0,0 +1,32 @@
+package net.wuxianjie.web.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 只用于特定包的已通过签名验证的 Token 解析结果。
+ *
+ * @author 吴仙杰
+ * @see TokenCacheConfig#verifiedTokenCache()
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+class VerifiedToken {
+
+  /**
+   * Token 类型。
+   */
+  private final String tokenType;
+
+  /**
+   * Token 所绑定的用户名。
+   */
+  private final String username;
+
+  /**
+   * Token 的过期时间，即 Unix 时间戳，单位毫秒。
+   */
+  private final long expiresAtMillis;
+}
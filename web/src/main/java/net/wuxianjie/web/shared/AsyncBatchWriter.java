@@ -0,0 +1,414 @@
+package net.wuxianjie.web.shared;
+
+import cn.hutool.core.collection.ListUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * 异步批量写入器：请求线程只需将数据放入有界队列，由后台线程凑满一批次（或等待超时）后一次性写入数据库。
+ *
+ * <p>
+ * 需要在使用前调用 {@link #start()}，并在关闭服务时调用 {@link #close()} 以写完队列中的剩余数据。
+ * </p>
+ *
+ * <p>
+ * 提供队列深度、批次大小及写入耗时等运行指标，以便观察写入线程是否跟得上提交速度；作为 Spring Bean 时会自动注册为 Micrometer 指标。
+ * </p>
+ *
+ * @param <E> 数据类型
+ * @author 吴仙杰
+ * @see AuditLogPropertiesConfig
+ */
+@Slf4j
+public class AsyncBatchWriter<E> implements MeterBinder {
+
+  /**
+   * 队列已满而丢弃数据时，两次汇总告警日志的最小间隔。
+   */
+  private static final long DROP_WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final String name;
+  private final Class<E> elementType;
+  private final AuditLogPropertiesConfig config;
+  private final ObjectMapper objectMapper;
+  private final Consumer<List<E>> batchSaver;
+  private final BlockingQueue<E> queue;
+  private final Path spillFile;
+  private final Object spillLock = new Object();
+
+  private final LongAdder submittedCount = new LongAdder();
+  private final LongAdder writtenCount = new LongAdder();
+  private final LongAdder droppedCount = new LongAdder();
+  private final LongAdder spilledCount = new LongAdder();
+  private final LongAdder failedBatchCount = new LongAdder();
+  private final LongAdder batchCount = new LongAdder();
+  private final LongAdder totalWriteNanos = new LongAdder();
+  private final AtomicLong maxWriteNanos = new AtomicLong();
+  private final LongAdder unreportedDropCount = new LongAdder();
+  private final AtomicLong nextDropWarnNanos = new AtomicLong(System.nanoTime());
+
+  private volatile int lastBatchSize;
+  private volatile boolean closed;
+  private Thread worker;
+
+  /**
+   * 构造异步批量写入器。
+   *
+   * @param name         写入器名称，用于线程名、日志及溢出文件名
+   * @param elementType  数据类型，用于从溢出文件中反序列化
+   * @param config       审计日志配置属性
+   * @param objectMapper 用于溢出文件的 JSON 序列化及反序列化
+   * @param batchSaver   以事务方式批量保存数据
+   */
+  public AsyncBatchWriter(String name,
+                          Class<E> elementType,
+                          AuditLogPropertiesConfig config,
+                          ObjectMapper objectMapper,
+                          Consumer<List<E>> batchSaver) {
+    this.name = name;
+    this.elementType = elementType;
+    this.config = config;
+    this.objectMapper = objectMapper;
+    this.batchSaver = batchSaver;
+    this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+    this.spillFile = Paths.get(config.getSpillDir(), name + ".jsonl");
+  }
+
+  /**
+   * 恢复上次遗留在溢出文件中的数据，并启动后台写入线程。
+   */
+  public void start() {
+    replaySpillFile();
+
+    worker = new Thread(this::drainLoop, name + "-writer");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * 提交需要写入的数据，当队列已满时按 {@link OverflowPolicy} 处理。
+   *
+   * @param element 需要写入的数据
+   */
+  public void submit(E element) {
+    submittedCount.increment();
+
+    // 已关闭时直接在当前线程写入
+    if (closed) {
+      write(List.of(element));
+      return;
+    }
+
+    switch (config.getOverflowPolicy()) {
+      case DROP_OLDEST:
+        while (!queue.offer(element)) {
+          E dropped = queue.poll();
+          if (dropped != null) recordDroppedOldest();
+        }
+        break;
+      case SPILL_TO_FILE:
+        if (!queue.offer(element)) spill(List.of(element));
+        break;
+      default:
+        try {
+          queue.put(element);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          droppedCount.increment();
+          log.warn("[{}] 等待写入队列时被中断，丢弃数据：{}", name, element);
+        }
+    }
+  }
+
+  /**
+   * 停止接收新数据，并等待后台线程写完队列中的剩余数据。
+   */
+  public void close() {
+    closed = true;
+
+    if (worker != null) {
+      try {
+        worker.join(config.getShutdownTimeoutMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    // 后台线程超时未退出或已退出后才提交的数据，在当前线程写入
+    List<E> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    ListUtil.partition(remaining, config.getBatchSize()).forEach(this::write);
+
+    log.info("[{}] 已关闭异步批量写入器，累计提交 {} 条，写入 {} 条，丢弃 {} 条，溢出 {} 条",
+      name, getSubmittedCount(), getWrittenCount(), getDroppedCount(), getSpilledCount());
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    String prefix = AuditLogMetrics.WRITER_METER_PREFIX;
+
+    Gauge.builder(prefix + ".queue.depth", this, AsyncBatchWriter::getQueueDepth)
+      .description("等待写入的数据量")
+      .tag("writer", name)
+      .register(registry);
+    Gauge.builder(prefix + ".batch.last-size", this, AsyncBatchWriter::getLastBatchSize)
+      .description("最近一次写入的批次大小")
+      .tag("writer", name)
+      .register(registry);
+
+    registerCounter(registry, prefix + ".submitted", "累计提交的数据量", AsyncBatchWriter::getSubmittedCount);
+    registerCounter(registry, prefix + ".written", "累计写入的数据量", AsyncBatchWriter::getWrittenCount);
+    registerCounter(registry, prefix + ".dropped", "累计丢弃的数据量", AsyncBatchWriter::getDroppedCount);
+    registerCounter(registry, prefix + ".spilled", "累计溢出的数据量", AsyncBatchWriter::getSpilledCount);
+    registerCounter(registry, prefix + ".failed-batches", "累计写入失败的批次数", AsyncBatchWriter::getFailedBatchCount);
+
+    FunctionTimer.builder(prefix + ".batch.write", this,
+        writer -> writer.batchCount.sum(),
+        writer -> writer.totalWriteNanos.sum(),
+        TimeUnit.NANOSECONDS)
+      .description("每批次的写入耗时")
+      .tag("writer", name)
+      .register(registry);
+  }
+
+  /**
+   * 获取当前队列中等待写入的数据量。
+   *
+   * @return 队列深度
+   */
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  /**
+   * 获取累计提交的数据量。
+   *
+   * @return 累计提交的数据量
+   */
+  public long getSubmittedCount() {
+    return submittedCount.sum();
+  }
+
+  /**
+   * 获取累计成功写入数据库的数据量。
+   *
+   * @return 累计写入的数据量
+   */
+  public long getWrittenCount() {
+    return writtenCount.sum();
+  }
+
+  /**
+   * 获取因队列已满或线程中断而丢弃的数据量。
+   *
+   * @return 累计丢弃的数据量
+   */
+  public long getDroppedCount() {
+    return droppedCount.sum();
+  }
+
+  /**
+   * 获取写入溢出文件的数据量。
+   *
+   * @return 累计溢出的数据量
+   */
+  public long getSpilledCount() {
+    return spilledCount.sum();
+  }
+
+  /**
+   * 获取写入失败的批次数。
+   *
+   * @return 累计失败的批次数
+   */
+  public long getFailedBatchCount() {
+    return failedBatchCount.sum();
+  }
+
+  /**
+   * 获取最近一次写入的批次大小。
+   *
+   * @return 最近一次的批次大小
+   */
+  public int getLastBatchSize() {
+    return lastBatchSize;
+  }
+
+  /**
+   * 获取每批次的平均写入耗时。
+   *
+   * @return 平均写入耗时，单位毫秒
+   */
+  public double getAverageWriteMillis() {
+    long batches = batchCount.sum();
+    if (batches == 0) return 0;
+
+    return (double) TimeUnit.NANOSECONDS.toMicros(totalWriteNanos.sum()) / batches / 1000;
+  }
+
+  /**
+   * 获取单批次的最大写入耗时。
+   *
+   * @return 最大写入耗时，单位毫秒
+   */
+  public double getMaxWriteMillis() {
+    return (double) TimeUnit.NANOSECONDS.toMicros(maxWriteNanos.get()) / 1000;
+  }
+
+  private void registerCounter(MeterRegistry registry,
+                               String meterName,
+                               String description,
+                               ToLongFunction<AsyncBatchWriter<E>> count) {
+    FunctionCounter.builder(meterName, this, writer -> count.applyAsLong(writer))
+      .description(description)
+      .tag("writer", name)
+      .register(registry);
+  }
+
+  private void recordDroppedOldest() {
+    droppedCount.increment();
+    unreportedDropCount.increment();
+
+    // 队列持续已满时每个请求都会丢弃数据，故只按间隔汇总告警，且不输出数据内容
+    long now = System.nanoTime();
+    long next = nextDropWarnNanos.get();
+    if (now - next < 0 || !nextDropWarnNanos.compareAndSet(next, now + DROP_WARN_INTERVAL_NANOS)) return;
+
+    log.warn("[{}] 写入队列已满，自上次告警以来丢弃最旧的数据 {} 条，累计丢弃 {} 条",
+      name, unreportedDropCount.sumThenReset(), getDroppedCount());
+  }
+
+  private void drainLoop() {
+    List<E> batch = new ArrayList<>(config.getBatchSize());
+
+    while (!closed || !queue.isEmpty()) {
+      try {
+        collectBatch(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+
+      if (batch.isEmpty()) continue;
+
+      write(batch);
+      batch.clear();
+    }
+  }
+
+  private void collectBatch(List<E> batch) throws InterruptedException {
+    long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getFlushIntervalMillis());
+    E first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+    if (first == null) return;
+
+    batch.add(first);
+
+    // 在刷新间隔内尽量凑满一批次，关闭时则不再等待
+    int batchSize = config.getBatchSize();
+    long deadline = System.nanoTime() + flushIntervalNanos;
+    while (batch.size() < batchSize) {
+      queue.drainTo(batch, batchSize - batch.size());
+      if (batch.size() >= batchSize || closed) break;
+
+      long remainingNanos = deadline - System.nanoTime();
+      if (remainingNanos <= 0) break;
+
+      E next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+      if (next == null) break;
+
+      batch.add(next);
+    }
+  }
+
+  private void write(List<E> batch) {
+    long start = System.nanoTime();
+    try {
+      batchSaver.accept(batch);
+
+      long elapsedNanos = System.nanoTime() - start;
+      lastBatchSize = batch.size();
+      writtenCount.add(batch.size());
+      batchCount.increment();
+      totalWriteNanos.add(elapsedNanos);
+      maxWriteNanos.accumulateAndGet(elapsedNanos, Math::max);
+
+      log.debug("[{}] 批量写入 {} 条，耗时 {} ms，队列剩余 {} 条",
+        name, batch.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), queue.size());
+    } catch (Exception e) {
+      failedBatchCount.increment();
+      log.error("[{}] 批量写入失败 [{} 条]", name, batch.size(), e);
+
+      if (config.getOverflowPolicy() == OverflowPolicy.SPILL_TO_FILE) spill(batch);
+    }
+  }
+
+  private void spill(List<E> elements) {
+    synchronized (spillLock) {
+      try {
+        Files.createDirectories(spillFile.getParent());
+
+        try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+          for (E element : elements) {
+            writer.write(objectMapper.writeValueAsString(element));
+            writer.newLine();
+          }
+        }
+
+        spilledCount.add(elements.size());
+      } catch (IOException e) {
+        droppedCount.add(elements.size());
+        log.error("[{}] 写入溢出文件失败，丢弃数据 [{} 条]：{}", name, elements.size(), elements, e);
+      }
+    }
+  }
+
+  private void replaySpillFile() {
+    List<E> elements = new ArrayList<>();
+
+    synchronized (spillLock) {
+      if (!Files.exists(spillFile)) return;
+
+      try (BufferedReader reader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (line.isBlank()) continue;
+
+          elements.add(objectMapper.readValue(line, elementType));
+        }
+
+        Files.delete(spillFile);
+      } catch (IOException e) {
+        log.error("[{}] 读取溢出文件失败 [{}]", name, spillFile, e);
+        return;
+      }
+    }
+
+    ListUtil.partition(elements, config.getBatchSize()).forEach(this::write);
+
+    log.info("[{}] 已从溢出文件恢复 {} 条数据", name, elements.size());
+  }
+}
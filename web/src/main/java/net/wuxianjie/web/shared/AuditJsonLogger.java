@@ -0,0 +1,97 @@
+package net.wuxianjie.web.shared;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 将操作日志及登录日志以 JSON 行的格式输出至名为 {@value #AUDIT_LOGGER_NAME} 的 Logger，由 logback-spring.xml 异步写入审计日志文件。
+ *
+ * <p>
+ * 每行格式为 {@code {"type":"operation-log","data":{...}}}，未开启该 Logger 时不执行 JSON 序列化。
+ * 已是 JSON 的字段（例如操作日志的入参及返回值）以流式方式原样写入，不会被再次转义为 JSON 字符串。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditJsonLogger {
+
+  /**
+   * 审计日志 Logger 的名称。
+   */
+  public static final String AUDIT_LOGGER_NAME = "AUDIT";
+
+  private static final Logger AUDIT_LOG = LoggerFactory.getLogger(AUDIT_LOGGER_NAME);
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * 输出一条审计日志。
+   *
+   * @param type 日志类型，例如 {@link AuditLogMetrics#OPERATION_LOG}
+   * @param data 日志数据
+   */
+  public void log(String type, Object data) {
+    log(type, data, Set.of());
+  }
+
+  /**
+   * 输出一条审计日志，并将指定字段的字符串值作为 JSON 原样写入。
+   *
+   * @param type          日志类型，例如 {@link AuditLogMetrics#OPERATION_LOG}
+   * @param data          日志数据
+   * @param rawJsonFields 值已是合法 JSON 的字段名
+   */
+  public void log(String type, Object data, Set<String> rawJsonFields) {
+    if (!AUDIT_LOG.isInfoEnabled()) return;
+
+    try {
+      AUDIT_LOG.info(toJsonLine(type, data, rawJsonFields));
+    } catch (IOException | IllegalArgumentException e) {
+      log.warn("审计日志 JSON 序列化失败：{}", data, e);
+    }
+  }
+
+  private String toJsonLine(String type, Object data, Set<String> rawJsonFields) throws IOException {
+    ObjectNode dataNode = objectMapper.valueToTree(data);
+
+    StringWriter writer = new StringWriter(256);
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+      generator.writeStartObject();
+      generator.writeStringField("type", type);
+      generator.writeObjectFieldStart("data");
+
+      Iterator<Map.Entry<String, JsonNode>> fields = dataNode.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        JsonNode value = field.getValue();
+
+        generator.writeFieldName(field.getKey());
+        if (value.isTextual() && rawJsonFields.contains(field.getKey())) {
+          generator.writeRawValue(value.textValue());
+        } else {
+          generator.writeTree(value);
+        }
+      }
+
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+    return writer.toString();
+  }
+}
@@ -0,0 +1,62 @@
+package net.wuxianjie.web.shared;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 操作日志及登录日志的运行指标名称及标签常量类。
+ *
+ * @author 吴仙杰
+ * @see AsyncBatchWriter#bindTo(MeterRegistry)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AuditLogMetrics {
+
+  /**
+   * 日志切面耗时的指标名称，以 {@code log} 标签区分日志类型，以 {@code phase} 标签区分阶段。
+   */
+  public static final String ASPECT_TIMER_NAME = "web.audit-log.aspect";
+
+  /**
+   * 异步批量写入器的指标名称前缀，以 {@code writer} 标签区分写入器。
+   */
+  public static final String WRITER_METER_PREFIX = "web.audit-log.writer";
+
+  /**
+   * 日志类型：操作日志，同时也是操作日志写入器的名称。
+   */
+  public static final String OPERATION_LOG = "operation-log";
+
+  /**
+   * 日志类型：登录日志，同时也是登录日志写入器的名称。
+   */
+  public static final String LOGIN_LOG = "login-log";
+
+  /**
+   * 阶段：入参及返回值的 JSON 序列化。
+   */
+  public static final String SERIALIZE_PHASE = "serialize";
+
+  /**
+   * 阶段：提交至异步批量写入器。
+   */
+  public static final String SUBMIT_PHASE = "submit";
+
+  /**
+   * 创建日志切面的耗时指标。
+   *
+   * @param meterRegistry 指标注册表
+   * @param logType       日志类型
+   * @param phase         阶段
+   * @return 耗时指标
+   */
+  public static Timer aspectTimer(MeterRegistry meterRegistry, String logType, String phase) {
+    return Timer.builder(ASPECT_TIMER_NAME)
+      .description("日志切面耗时")
+      .tag("log", logType)
+      .tag("phase", phase)
+      .register(meterRegistry);
+  }
+}
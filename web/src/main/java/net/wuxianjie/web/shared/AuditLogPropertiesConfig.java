@@ -0,0 +1,76 @@
+package net.wuxianjie.web.shared;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 审计日志（操作日志、登录日志）异步批量写入的配置属性配置类。
+ *
+ * @author 吴仙杰
+ * @see AsyncBatchWriter
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "web.audit-log")
+public class AuditLogPropertiesConfig {
+
+  /**
+   * SQLite 3.32 及以上版本单条语句的参数数量上限（SQLITE_MAX_VARIABLE_NUMBER）。
+   */
+  private static final int SQLITE_MAX_VARIABLE_NUMBER = 32_766;
+
+  /**
+   * 多行 INSERT 中每行绑定的参数数量，以列数最多的操作日志为准。
+   */
+  private static final int MAX_PARAMETERS_PER_ROW = 10;
+
+  /**
+   * 每批次写入条数的上限，保证一条多行 INSERT 的参数数量不超过 SQLite 的上限。
+   */
+  private static final int MAX_BATCH_SIZE = SQLITE_MAX_VARIABLE_NUMBER / MAX_PARAMETERS_PER_ROW;
+
+  /**
+   * 写入队列的最大容量。
+   */
+  @Min(message = "写入队列容量不能小于 1", value = 1)
+  private int queueCapacity = 10_000;
+
+  /**
+   * 每批次最多写入的条数，即一条多行 INSERT 的行数，不能超过 {@value #MAX_BATCH_SIZE}。
+   */
+  @Min(message = "每批次写入条数不能小于 1", value = 1)
+  @Max(message = "每批次写入条数不能大于 " + MAX_BATCH_SIZE, value = MAX_BATCH_SIZE)
+  private int batchSize = 100;
+
+  /**
+   * 等待凑满一批次的最长时间，单位毫秒。
+   */
+  @Min(message = "刷新间隔不能小于 1 毫秒", value = 1)
+  private long flushIntervalMillis = 1000;
+
+  /**
+   * 写入队列已满时的处理策略。
+   */
+  @NotNull(message = "队列溢出策略不能为 null")
+  private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+  /**
+   * 溢出文件的存放目录，绝对或相对路径。
+   */
+  @NotBlank(message = "溢出文件目录不能为空")
+  private String spillDir = "logs/spill";
+
+  /**
+   * 关闭服务时等待后台线程写完剩余数据的最长时间，单位毫秒。
+   */
+  @Min(message = "关闭等待时间不能小于 0", value = 0)
+  private long shutdownTimeoutMillis = 30_000;
+}
@@ -0,0 +1,28 @@
+package net.wuxianjie.web.shared;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Function;
+
+/**
+ * CSV 导出的列定义。
+ *
+ * @param <E> 数据类型
+ * @author 吴仙杰
+ * @see StreamingExporter
+ */
+@Getter
+@RequiredArgsConstructor
+public class ExportColumn<E> {
+
+  /**
+   * 列标题。
+   */
+  private final String title;
+
+  /**
+   * 从数据中获取该列的值。
+   */
+  private final Function<E, Object> valueGetter;
+}
@@ -0,0 +1,47 @@
+package net.wuxianjie.web.shared;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 导出文件格式。
+ *
+ * @author 吴仙杰
+ * @see StreamingExporter
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+  /**
+   * 带 UTF-8 BOM 的 CSV，可直接用 Excel 打开。
+   */
+  CSV("csv", "text/csv;charset=UTF-8"),
+
+  /**
+   * 每行一个 JSON 对象。
+   */
+  JSONL("jsonl", "application/x-ndjson;charset=UTF-8");
+
+  /**
+   * 请求参数值，同时也是文件扩展名。
+   */
+  private final String value;
+
+  private final String contentType;
+
+  /**
+   * 将请求参数值解析为导出文件格式。
+   *
+   * @param value 请求参数值
+   * @return {@link ExportFormat} 的 {@link Optional} 包装对象
+   */
+  public static Optional<ExportFormat> resolve(String value) {
+    return Arrays.stream(values())
+      .filter(format -> format.value.equalsIgnoreCase(value))
+      .findFirst();
+  }
+}
@@ -0,0 +1,25 @@
+package net.wuxianjie.web.shared;
+
+/**
+ * 异步批量写入队列已满时的处理策略。
+ *
+ * @author 吴仙杰
+ * @see AsyncBatchWriter
+ */
+public enum OverflowPolicy {
+
+  /**
+   * 阻塞提交线程，直到队列有空位，不丢失数据。
+   */
+  BLOCK,
+
+  /**
+   * 丢弃队列中最旧的数据，不阻塞提交线程。丢弃的数据量计入 {@code dropped} 指标，并每 10 秒最多输出一条汇总告警日志。
+   */
+  DROP_OLDEST,
+
+  /**
+   * 将数据追加到溢出文件中，不阻塞提交线程，并在下次启动时重新写入数据库。
+   */
+  SPILL_TO_FILE
+}
@@ -0,0 +1,49 @@
+package net.wuxianjie.web.shared;
+
+import lombok.Data;
+import net.wuxianjie.springbootcore.mybatis.YesOrNo;
+import net.wuxianjie.springbootcore.validator.EnumValidator;
+
+import javax.validation.constraints.Pattern;
+
+/**
+ * 导出请求参数。
+ *
+ * @author 吴仙杰
+ * @see StreamingExporter
+ */
+@Data
+public class RequestOfExport {
+
+  /**
+   * 文件格式：csv 或 jsonl，为空时默认为 csv。
+   *
+   * @see ExportFormat
+   */
+  @Pattern(message = "导出格式不合法", regexp = "(^$|^(?i)(csv|jsonl)$)")
+  private String format;
+
+  /**
+   * 是否以 gzip 压缩文件，为 null 时默认不压缩。
+   */
+  @EnumValidator(message = "是否压缩不合法", value = YesOrNo.class)
+  private Integer gzip;
+
+  /**
+   * 获取文件格式，未指定时默认为 {@link ExportFormat#CSV}。
+   *
+   * @return 文件格式
+   */
+  public ExportFormat getFormatOrDefault() {
+    return ExportFormat.resolve(format).orElse(ExportFormat.CSV);
+  }
+
+  /**
+   * 判断是否需要以 gzip 压缩文件。
+   *
+   * @return 是否需要压缩
+   */
+  public boolean isGzipEnabled() {
+    return YesOrNo.resolve(gzip).orElse(YesOrNo.NO) == YesOrNo.YES;
+  }
+}
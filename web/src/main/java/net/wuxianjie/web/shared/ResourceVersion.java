@@ -0,0 +1,22 @@
+package net.wuxianjie.web.shared;
+
+import lombok.Data;
+
+/**
+ * 资源版本号表实体类。
+ *
+ * @author 吴仙杰
+ */
+@Data
+public class ResourceVersion {
+
+  /**
+   * 资源名称。
+   */
+  private String resource;
+
+  /**
+   * 版本号。
+   */
+  private Long version;
+}
@@ -0,0 +1,30 @@
+package net.wuxianjie.web.shared;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 资源版本号变更事件，本实例修改资源的事务提交后，或定时刷新发现其他实例修改了资源时，由 {@link SqliteResourceVersions} 发布。
+ *
+ * <p>
+ * 缓存了资源数据的组件可监听该事件以重新加载数据。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ResourceVersionChangedEvent {
+
+  /**
+   * 资源名称。
+   */
+  private final String resource;
+
+  /**
+   * 变更后的版本号。
+   */
+  private final long version;
+}
@@ -0,0 +1,38 @@
+package net.wuxianjie.web.shared;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 与资源版本号表相关的 SQL。
+ *
+ * @author 吴仙杰
+ * @see SqliteResourceVersions
+ */
+@Mapper
+public interface ResourceVersionMapper {
+
+  /**
+   * 获取所有资源的版本号。
+   *
+   * @return 版本号列表
+   */
+  List<ResourceVersion> findAll();
+
+  /**
+   * 获取资源的版本号。
+   *
+   * @param resource 资源名称
+   * @return 版本号，从未修改过的资源返回 null
+   */
+  Long findVersionByResource(@Param("resource") String resource);
+
+  /**
+   * 递增资源的版本号，不存在时则从 1 开始。
+   *
+   * @param resource 资源名称
+   */
+  void increaseVersionByResource(@Param("resource") String resource);
+}
@@ -0,0 +1,29 @@
+package net.wuxianjie.web.shared;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * 资源版本号的配置属性配置类。
+ *
+ * @author 吴仙杰
+ * @see SqliteResourceVersions
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "web.resource-version")
+public class ResourceVersionPropertiesConfig {
+
+  /**
+   * 从数据库刷新版本号的间隔，单位毫秒，即其他实例修改资源后在本实例生效的最长延迟。
+   *
+   * @see SqliteResourceVersions#refresh()
+   */
+  @Min(message = "版本号刷新间隔不能小于 100 毫秒", value = 100)
+  private long refreshIntervalMillis = 2000;
+}
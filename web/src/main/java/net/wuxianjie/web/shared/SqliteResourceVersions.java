@@ -0,0 +1,94 @@
+package net.wuxianjie.web.shared;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wuxianjie.springbootcore.rest.ResourceVersions;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 资源版本号的实现：读取只访问内存，版本号同时保存于应用数据库，供共享同一数据库文件的其他实例同步。
+ *
+ * <p>
+ * 写操作在修改资源的同一事务中递增数据库中的版本号，事务提交后才更新内存中的版本号，
+ * 故读到新版本号的请求必然也能读到新数据，而回滚的修改不会改变版本号。
+ * </p>
+ *
+ * <p>
+ * 其他实例的修改由定时任务从数据库刷新，在 {@link ResourceVersionPropertiesConfig#getRefreshIntervalMillis()} 内生效，
+ * 此前本实例仍可能以旧版本号返回 304。版本号只增不减，每次变更均发布 {@link ResourceVersionChangedEvent}。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqliteResourceVersions implements ResourceVersions {
+
+  private final ResourceVersionMapper resourceVersionMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+  @Override
+  public long current(String resource) {
+    return versions.getOrDefault(resource, 0L);
+  }
+
+  @Override
+  public void bump(String resource) {
+    // 写操作需在事务中执行，以使用写连接；已处于事务中时则加入该事务，提交后才更新内存
+    transactionTemplate.executeWithoutResult(status -> {
+      resourceVersionMapper.increaseVersionByResource(resource);
+      long version = resourceVersionMapper.findVersionByResource(resource);
+
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          advance(resource, version);
+        }
+      });
+    });
+  }
+
+  /**
+   * 启动完成后先于其他组件加载全部版本号，此后由定时任务刷新，以获取其他实例的修改。
+   */
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(initialDelayString = "#{@resourceVersionPropertiesConfig.refreshIntervalMillis}",
+    fixedDelayString = "#{@resourceVersionPropertiesConfig.refreshIntervalMillis}")
+  public void refresh() {
+    for (ResourceVersion row : resourceVersionMapper.findAll()) {
+      advance(row.getResource(), row.getVersion());
+    }
+  }
+
+  private void advance(String resource, long version) {
+    AtomicBoolean advanced = new AtomicBoolean();
+    versions.compute(resource, (k, current) -> {
+      if (current != null && current >= version) return current;
+
+      advanced.set(true);
+      return version;
+    });
+    if (!advanced.get()) return;
+
+    log.debug("资源版本号已更新 [resource={};version={}]", resource, version);
+    eventPublisher.publishEvent(new ResourceVersionChangedEvent(resource, version));
+  }
+}
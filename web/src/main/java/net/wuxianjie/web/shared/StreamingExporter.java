@@ -0,0 +1,176 @@
+package net.wuxianjie.web.shared;
+
+import cn.hutool.core.date.DatePattern;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 将查询结果逐行写入响应体的流式导出器：MyBatis 每映射一行即写出一行，内存占用与导出的数据量无关。
+ *
+ * <p>
+ * 直接写入 {@link HttpServletResponse}，故不经过 {@link net.wuxianjie.springbootcore.rest.GlobalResponseBodyAdvice} 包装。
+ * 开始写入后响应已提交，之后发生的异常只能中断下载，无法再返回 JSON 格式的错误信息。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StreamingExporter {
+
+  private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * 导出查询结果。
+   *
+   * @param response     {@link HttpServletResponse}
+   * @param export       导出请求参数
+   * @param fileBaseName 下载的文件名，不包含扩展名
+   * @param columns      CSV 的列定义
+   * @param query        以 {@link ResultHandler} 方式执行的查询
+   * @param <E>          数据类型
+   * @throws IOException 当写入响应体失败时抛出
+   */
+  public <E> void export(HttpServletResponse response,
+                         RequestOfExport export,
+                         String fileBaseName,
+                         List<ExportColumn<E>> columns,
+                         Consumer<ResultHandler<E>> query) throws IOException {
+    ExportFormat format = export.getFormatOrDefault();
+    boolean gzip = export.isGzipEnabled();
+
+    String fileName = fileBaseName + "." + format.getValue() + (gzip ? ".gz" : "");
+    response.setContentType(gzip ? "application/gzip" : format.getContentType());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+      .filename(fileName, StandardCharsets.UTF_8)
+      .build()
+      .toString());
+
+    OutputStream out = gzip
+      ? new GZIPOutputStream(response.getOutputStream(), BUFFER_SIZE)
+      : response.getOutputStream();
+
+    long start = System.currentTimeMillis();
+    long[] rows = {0};
+    try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+      if (format == ExportFormat.CSV) {
+        out.write(UTF8_BOM);
+        writeCsvRow(writer, columns.stream().map(ExportColumn::getTitle).toArray());
+
+        query.accept(context -> {
+          E row = context.getResultObject();
+          writeCsvRow(writer, columns.stream().map(column -> column.getValueGetter().apply(row)).toArray());
+          rows[0]++;
+        });
+      } else {
+        ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+          generator.setRootValueSeparator(new SerializedString("\n"));
+
+          query.accept(context -> {
+            try {
+              rowWriter.writeValue(generator, context.getResultObject());
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+          });
+
+          if (rows[0] > 0) generator.writeRaw('\n');
+        }
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    log.info("已导出 {} [{} 行]，耗时 {} ms", fileName, rows[0], System.currentTimeMillis() - start);
+  }
+
+  private void writeCsvRow(Writer writer, Object[] values) {
+    try {
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) writer.write(',');
+
+        writeCsvValue(writer, values[i]);
+      }
+      writer.write("\r\n");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeCsvValue(Writer writer, Object value) throws IOException {
+    if (value == null) return;
+
+    String text;
+    if (value instanceof LocalDateTime) {
+      text = DatePattern.NORM_DATETIME_FORMATTER.format((LocalDateTime) value);
+    } else if (value instanceof LocalDate) {
+      text = DatePattern.NORM_DATE_FORMATTER.format((LocalDate) value);
+    } else if (value instanceof Number) {
+      text = value.toString();
+    } else {
+      text = escapeFormula(value.toString());
+    }
+
+    boolean needsQuote = text.indexOf(',') >= 0
+      || text.indexOf('"') >= 0
+      || text.indexOf('\n') >= 0
+      || text.indexOf('\r') >= 0;
+    if (!needsQuote) {
+      writer.write(text);
+      return;
+    }
+
+    writer.write('"');
+    writer.write(text.replace("\"", "\"\""));
+    writer.write('"');
+  }
+
+  /**
+   * 防止 CSV 公式注入：以 {@code = + - @}、制表符或回车开头的文本会被 Excel 等软件当作公式执行，故在其前添加单引号。
+   */
+  private static String escapeFormula(String text) {
+    if (text.isEmpty()) return text;
+
+    switch (text.charAt(0)) {
+      case '=':
+      case '+':
+      case '-':
+      case '@':
+      case '\t':
+      case '\r':
+        return "'" + text;
+      default:
+        return text;
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package net.wuxianjie.web.sqlite;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 读写分离的路由数据源：处于可写事务中时使用写连接池，否则使用读连接池。
+ *
+ * <p>
+ * 需要配合 {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} 使用，
+ * 以确保在事务开始且事务属性已确定后才获取实际连接。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+  static final String WRITER = "writer";
+  static final String READER = "reader";
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    boolean isWritable = TransactionSynchronizationManager.isActualTransactionActive() &&
+      !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+    return isWritable ? WRITER : READER;
+  }
+}
@@ -0,0 +1,123 @@
+package net.wuxianjie.web.sqlite;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * SQLite WAL 模式下的读写分离数据源配置类。
+ *
+ * <p>
+ * WAL 模式下读操作不会阻塞写操作，写操作也不会阻塞读操作，但同一时刻仍只能有一个写操作，故：
+ * </p>
+ *
+ * <ul>
+ *   <li>写连接池只有一个连接，所有可写事务串行执行，避免多个写连接之间争抢数据库锁</li>
+ *   <li>读连接池以只读方式打开多个连接，非事务及只读事务中的查询可并发执行</li>
+ * </ul>
+ *
+ * @author 吴仙杰
+ * @see SqlitePropertiesConfig
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "web.sqlite", name = "wal-mode", havingValue = "true")
+public class SqliteDataSourceConfig {
+
+  private final DataSourceProperties dataSourceProperties;
+  private final SqlitePropertiesConfig sqliteConfig;
+
+  /**
+   * 应用中实际使用的数据源：按当前事务属性路由至写连接池或读连接池。
+   *
+   * @param writerDataSource 写连接池
+   * @param readerDataSource 读连接池
+   * @return 读写分离的数据源
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("writerDataSource") DataSource writerDataSource,
+                               @Qualifier("readerDataSource") DataSource readerDataSource) {
+    ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+    routingDataSource.setTargetDataSources(Map.of(
+      ReadWriteRoutingDataSource.WRITER, writerDataSource,
+      ReadWriteRoutingDataSource.READER, readerDataSource
+    ));
+    routingDataSource.setDefaultTargetDataSource(writerDataSource);
+    routingDataSource.afterPropertiesSet();
+
+    // 显式指定 SQLite 连接的默认值，以免代理初始化时为探测默认值而提前打开连接
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+    dataSource.setTargetDataSource(routingDataSource);
+    dataSource.setDefaultAutoCommit(true);
+    dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+    return dataSource;
+  }
+
+  /**
+   * 只有一个连接的写连接池，负责将数据库切换为 WAL 日志模式，同时也用于执行数据库版本迁移。
+   *
+   * @return 写连接池
+   */
+  @Bean(destroyMethod = "close")
+  @FlywayDataSource
+  public HikariDataSource writerDataSource() {
+    SQLiteConfig config = createSqliteConfig();
+    config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+
+    return createPool("sqlite-writer", config, 1);
+  }
+
+  /**
+   * 以只读方式打开的多连接读连接池。
+   *
+   * @return 读连接池
+   */
+  @Bean(destroyMethod = "close")
+  public HikariDataSource readerDataSource() {
+    SQLiteConfig config = createSqliteConfig();
+    config.setReadOnly(true);
+
+    // SQLite 连接建立后不能再修改只读标志，故连接池也需声明为只读，否则 Hikari 初始化连接时会尝试将其改为可写而失败
+    HikariDataSource pool = createPool("sqlite-reader", config, sqliteConfig.getReaderPoolSize());
+    pool.setReadOnly(true);
+    // 首次启动时数据库文件由写连接池在迁移时创建，而只读连接无法创建文件，故不在初始化连接池时建立连接
+    pool.setInitializationFailTimeout(-1);
+    return pool;
+  }
+
+  private SQLiteConfig createSqliteConfig() {
+    SQLiteConfig config = new SQLiteConfig();
+    config.setSynchronous(sqliteConfig.getSynchronous());
+    config.setBusyTimeout(sqliteConfig.getBusyTimeoutMillis());
+    config.setCacheSize(sqliteConfig.getCacheSize());
+    return config;
+  }
+
+  private HikariDataSource createPool(String poolName, SQLiteConfig config, int poolSize) {
+    SQLiteDataSource sqliteDataSource = new SQLiteDataSource(config);
+    sqliteDataSource.setUrl(dataSourceProperties.getUrl());
+
+    HikariDataSource pool = new HikariDataSource();
+    pool.setPoolName(poolName);
+    pool.setDataSource(sqliteDataSource);
+    pool.setMaximumPoolSize(poolSize);
+    pool.setMinimumIdle(1);
+    // SQLiteConfig 没有提供 mmap_size 的配置项
+    pool.setConnectionInitSql("PRAGMA mmap_size = " + sqliteConfig.getMmapSize());
+    return pool;
+  }
+}
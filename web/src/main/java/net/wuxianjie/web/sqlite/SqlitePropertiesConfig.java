@@ -0,0 +1,57 @@
+package net.wuxianjie.web.sqlite;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import org.sqlite.SQLiteConfig;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * SQLite 数据源的配置属性配置类。
+ *
+ * @author 吴仙杰
+ * @see SqliteDataSourceConfig
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "web.sqlite")
+public class SqlitePropertiesConfig {
+
+  /**
+   * 是否以 WAL 日志模式打开数据库，并使用读写分离的连接池：写操作使用唯一的写连接，只读操作使用多连接的读连接池。
+   */
+  private boolean walMode;
+
+  /**
+   * 读连接池的最大连接数。
+   */
+  @Min(message = "读连接池的最大连接数不能小于 1", value = 1)
+  private int readerPoolSize = 4;
+
+  /**
+   * 数据库被锁时的最长等待时间，单位毫秒。
+   */
+  @Min(message = "锁等待时间不能小于 0", value = 0)
+  private int busyTimeoutMillis = 5000;
+
+  /**
+   * 磁盘同步模式，WAL 模式下 NORMAL 即可保证数据库不会损坏。
+   */
+  @NotNull(message = "磁盘同步模式不能为 null")
+  private SQLiteConfig.SynchronousMode synchronous = SQLiteConfig.SynchronousMode.NORMAL;
+
+  /**
+   * 内存映射 I/O 的最大字节数，0 代表禁用。
+   */
+  @Min(message = "内存映射大小不能小于 0", value = 0)
+  private long mmapSize = 268_435_456;
+
+  /**
+   * 每个连接的页缓存大小：正数代表页数，负数代表 KiB。
+   */
+  private int cacheSize = -16_000;
+}
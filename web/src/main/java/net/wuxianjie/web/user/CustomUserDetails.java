@@ -5,6 +5,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import net.wuxianjie.web.security.RoleOfMenu;
 import net.wuxianjie.springbootcore.security.TokenUserDetails;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
 
 /**
  * Token 身份验证后的用户详细数据。
@@ -42,4 +45,26 @@ public class CustomUserDetails implements TokenUserDetails {
      * 用于刷新鉴权信息的 Token。
      */
     private String refreshToken;
+
+    /**
+     * 登录时预先构建的 Spring Security 权限列表，不可变。
+     */
+    private List<GrantedAuthority> authorities;
+
+    /**
+     * 登录时预先计算的有效权限位掩码，已包含全部下级菜单。
+     *
+     * @see RoleOfMenu#toEffectiveMask(String)
+     */
+    private long menuMask;
+
+    /**
+     * 检查用户是否拥有指定菜单的权限，只需测试一位，不产生任何对象分配。
+     *
+     * @param menu 菜单角色
+     * @return 拥有则返回 true
+     */
+    public boolean hasMenu(RoleOfMenu menu) {
+        return RoleOfMenu.hasRole(menuMask, menu);
+    }
 }
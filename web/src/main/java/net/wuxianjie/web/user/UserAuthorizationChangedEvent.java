@@ -0,0 +1,73 @@
+package net.wuxianjie.web.user;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import net.wuxianjie.web.security.RoleOfMenu;
+
+/**
+ * 用户授权变更事件，在禁用、删除、重置密码或修改菜单后由 {@link UserService} 发布。
+ *
+ * <p>
+ * 本节点通过监听该事件立即吊销或改写已登录用户的缓存，多节点部署时可监听该事件并广播至其他节点，由其他节点在本地重新发布。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class UserAuthorizationChangedEvent {
+
+  /**
+   * 用户名。
+   */
+  private final String username;
+
+  /**
+   * 变更类型。
+   */
+  private final ChangeType changeType;
+
+  /**
+   * 变更后的菜单编号，多个菜单编号以英文逗号分隔，仅当变更类型为 {@link ChangeType#MENUS_CHANGED} 时有值。
+   *
+   * @see RoleOfMenu#value()
+   */
+  private final String menus;
+
+  /**
+   * 用户授权变更类型。
+   */
+  public enum ChangeType {
+
+    /**
+     * 用户被禁用，需吊销已登录的 Token。
+     */
+    DISABLED,
+
+    /**
+     * 用户被删除，需吊销已登录的 Token。
+     */
+    DELETED,
+
+    /**
+     * 用户密码被重置，需吊销已登录的 Token。
+     */
+    PASSWORD_RESET,
+
+    /**
+     * 用户菜单被修改，只需改写已登录用户的权限。
+     */
+    MENUS_CHANGED;
+
+    /**
+     * 是否需要吊销已登录的 Token。
+     *
+     * @return 需要吊销则返回 true
+     */
+    public boolean isRevocation() {
+      return this != MENUS_CHANGED;
+    }
+  }
+}
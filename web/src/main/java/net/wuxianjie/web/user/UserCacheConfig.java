@@ -0,0 +1,58 @@
+package net.wuxianjie.web.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户快照缓存配置类。
+ *
+ * @author 吴仙杰
+ */
+@Configuration
+public class UserCacheConfig {
+
+  /**
+   * 用户快照缓存的最大条目数。
+   */
+  private static final int USER_SNAPSHOT_MAXIMUM_SIZE = 10_000;
+
+  /**
+   * 用户快照写入后的最长存活时间，单位分钟。
+   *
+   * <p>
+   * 经由 {@link UserService} 的修改均会立即使缓存失效，此处仅兜底直接修改数据库的情况。
+   * </p>
+   */
+  private static final int USER_SNAPSHOT_EXPIRES_IN_MINUTES = 30;
+
+  /**
+   * 用户快照本地缓存，读时加载，写时失效。
+   *
+   * @return {username : {@link UserSnapshot}}
+   */
+  @Bean
+  public Cache<String, UserSnapshot> userSnapshotCache() {
+    return Caffeine.newBuilder()
+      .maximumSize(USER_SNAPSHOT_MAXIMUM_SIZE)
+      .expireAfterWrite(USER_SNAPSHOT_EXPIRES_IN_MINUTES, TimeUnit.MINUTES)
+      .recordStats()
+      .build();
+  }
+
+  /**
+   * 将用户快照缓存的命中、未命中及驱逐次数注册为 Micrometer 指标。
+   *
+   * @param userSnapshotCache 用户快照本地缓存
+   * @return 缓存指标
+   */
+  @Bean
+  public MeterBinder userSnapshotCacheMetrics(Cache<String, UserSnapshot> userSnapshotCache) {
+    return registry -> CaffeineCacheMetrics.monitor(registry, userSnapshotCache, "userSnapshotCache");
+  }
+}
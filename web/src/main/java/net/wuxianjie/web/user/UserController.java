@@ -5,12 +5,14 @@ import lombok.RequiredArgsConstructor;
 import net.wuxianjie.springbootcore.exception.BadRequestException;
 import net.wuxianjie.springbootcore.paging.RequestOfPaging;
 import net.wuxianjie.springbootcore.paging.ResultOfPaging;
+import net.wuxianjie.springbootcore.rest.ConditionalGet;
 import net.wuxianjie.springbootcore.security.AuthenticationUtils;
 import net.wuxianjie.springbootcore.security.TokenUserDetails;
 import net.wuxianjie.springbootcore.util.StringUtils;
 import net.wuxianjie.web.operationlog.OperationLogger;
+import net.wuxianjie.web.security.RequiresMenu;
+import net.wuxianjie.web.security.RoleOfMenu;
 import net.wuxianjie.web.shared.SimpleResultOfWriteOperation;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -35,7 +37,8 @@ public class UserController {
    * @return 用户列表
    */
   @GetMapping("list")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_USER_LIST.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_USER_LIST)
+  @ConditionalGet(UserService.RESOURCE)
   public ResultOfPaging<ListItemOfUser> getUsers(@Valid RequestOfPaging paging,
                                                  @Valid RequestOfGetUser query) {
     setFuzzySearchValue(query);
@@ -50,7 +53,7 @@ public class UserController {
    */
   @PostMapping("add")
   @OperationLogger("新增用户")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_USER_ADD.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_USER_ADD)
   public SimpleResultOfWriteOperation saveUser(@RequestBody @Valid RequestOfSaveUser query) {
     return userService.saveUser(query);
   }
@@ -64,7 +67,7 @@ public class UserController {
    */
   @PostMapping("update/{userId:\\d+}")
   @OperationLogger("修改用户")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_USER_UPDATE.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_USER_UPDATE)
   public SimpleResultOfWriteOperation updateUser(@PathVariable int userId,
                                                  @RequestBody @Valid RequestOfUpdateUser query) {
     query.setUserId(userId);
@@ -80,7 +83,7 @@ public class UserController {
    */
   @PostMapping("reset-password/{userId:\\d+}")
   @OperationLogger("重置用户密码")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_USER_RESET_PWD.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_USER_RESET_PWD)
   public SimpleResultOfWriteOperation updateUserPassword(@PathVariable int userId,
                                                          @RequestBody @Valid RequestOfResetUserPassword query) {
     query.setUserId(userId);
@@ -94,7 +97,7 @@ public class UserController {
    * @return 操作结果
    */
   @PostMapping("change-password")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_USER_RESET_PWD.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_USER_RESET_PWD)
   public SimpleResultOfWriteOperation updateCurrentUserPassword(@RequestBody @Valid RequestOfUpdateUserPwd query) {
     if (StrUtil.equals(query.getOldPassword(), query.getNewPassword())) throw new BadRequestException("新旧密码不能相同");
 
@@ -110,7 +113,7 @@ public class UserController {
    */
   @GetMapping("del/{userId:\\d+}")
   @OperationLogger("删除用户")
-  @PreAuthorize("hasRole(T(net.wuxianjie.web.security.RoleOfMenu).ROLE_USER_DEL.name())")
+  @RequiresMenu(RoleOfMenu.ROLE_USER_DEL)
   public SimpleResultOfWriteOperation deleteUser(@PathVariable int userId) {
     return userService.deleteUser(userId);
   }
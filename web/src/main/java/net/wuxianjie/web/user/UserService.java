@@ -1,24 +1,28 @@
 package net.wuxianjie.web.user;
 
-import cn.hutool.core.text.StrSplitter;
 import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import net.wuxianjie.springbootcore.exception.BadRequestException;
 import net.wuxianjie.springbootcore.exception.ConflictException;
 import net.wuxianjie.springbootcore.exception.NotFoundException;
 import net.wuxianjie.springbootcore.mybatis.YesOrNo;
+import net.wuxianjie.springbootcore.paging.PagingTotalCounter;
 import net.wuxianjie.springbootcore.paging.RequestOfPaging;
 import net.wuxianjie.springbootcore.paging.ResultOfPaging;
+import net.wuxianjie.springbootcore.rest.ResourceVersions;
 import net.wuxianjie.springbootcore.security.AuthenticationUtils;
 import net.wuxianjie.springbootcore.util.StringUtils;
 import net.wuxianjie.web.security.RoleOfMenu;
 import net.wuxianjie.web.shared.SimpleResultOfWriteOperation;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * 用户业务逻辑实现类。
@@ -29,8 +33,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserService {
 
+  /**
+   * 用户列表的资源名称。
+   *
+   * @see ResourceVersions
+   */
+  public static final String RESOURCE = "users";
+
   private final PasswordEncoder passwordEncoder;
   private final UserMapper userMapper;
+  private final PagingTotalCounter pagingTotalCounter;
+  private final Cache<String, UserSnapshot> userSnapshotCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ResourceVersions resourceVersions;
 
   /**
    * 获取用户列表。
@@ -44,8 +59,8 @@ public class UserService {
     boolean isSu = isCurrentSu();
 
     List<ListItemOfUser> users = userMapper.findByUsernameLikeAndEnabledOrderByModifyTimeDesc(paging, query, isSu);
-    int total = userMapper.countByUsernameLikeAndEnabled(query, isSu);
-    return new ResultOfPaging<>(paging, total, users);
+    return pagingTotalCounter.toResult(paging, users, "users:" + isSu + ":" + query,
+      () -> userMapper.countByUsernameLikeAndEnabled(query, isSu));
   }
 
   /**
@@ -57,7 +72,7 @@ public class UserService {
   @Transactional(rollbackFor = Exception.class)
   public SimpleResultOfWriteOperation saveUser(RequestOfSaveUser query) {
     // 校验并去重菜单编号字符串
-    toDeduplicatedCommaSeparatedMenus(query.getMenus())
+    RoleOfMenu.toDeduplicatedCommaSeparatedMenus(query.getMenus())
       .ifPresent(query::setMenus);
 
     // 用户名唯一性校验
@@ -72,6 +87,7 @@ public class UserService {
     userToSave.setHashedPassword(passwordEncoder.encode(query.getPassword()));
     userToSave.setMenus(query.getMenus());
     userMapper.save(userToSave);
+    resourceVersions.bump(RESOURCE);
 
     return new SimpleResultOfWriteOperation(StrUtil.format("新增用户 [{}]", username));
   }
@@ -85,7 +101,7 @@ public class UserService {
   @Transactional(rollbackFor = Exception.class)
   public SimpleResultOfWriteOperation updateUser(RequestOfUpdateUser query) {
     // 校验并去重菜单编号字符串
-    toDeduplicatedCommaSeparatedMenus(query.getMenus())
+    RoleOfMenu.toDeduplicatedCommaSeparatedMenus(query.getMenus())
       .ifPresent(query::setMenus);
 
     // 检查用户是否存在
@@ -103,6 +119,12 @@ public class UserService {
 
     // 更新用户数据
     userMapper.update(userToUpdate.get());
+    resourceVersions.bump(RESOURCE);
+    evictUserSnapshot(username);
+
+    // 吊销或改写已登录用户的权限
+    toAuthorizationChangedEvent(username, userToUpdate.get())
+      .ifPresent(eventPublisher::publishEvent);
 
     return new SimpleResultOfWriteOperation(StrUtil.format("修改用户 [{}]", username));
   }
@@ -134,6 +156,11 @@ public class UserService {
     userToUpdate.setUserId(oldUser.getUserId());
     userToUpdate.setHashedPassword(passwordEncoder.encode(newRawPassword));
     userMapper.update(userToUpdate);
+    resourceVersions.bump(RESOURCE);
+    evictUserSnapshot(username);
+
+    // 吊销已登录的 Token
+    eventPublisher.publishEvent(new UserAuthorizationChangedEvent(username, UserAuthorizationChangedEvent.ChangeType.PASSWORD_RESET, null));
 
     return new SimpleResultOfWriteOperation(StrUtil.format("重置用户密码 [{}]", username));
   }
@@ -159,6 +186,11 @@ public class UserService {
     userToUpdate.setUserId(oldUser.getUserId());
     userToUpdate.setHashedPassword(passwordEncoder.encode(query.getNewPassword()));
     userMapper.update(userToUpdate);
+    resourceVersions.bump(RESOURCE);
+    evictUserSnapshot(username);
+
+    // 吊销已登录的 Token，包括当前请求所用的 Token
+    eventPublisher.publishEvent(new UserAuthorizationChangedEvent(username, UserAuthorizationChangedEvent.ChangeType.PASSWORD_RESET, null));
 
     return new SimpleResultOfWriteOperation(StrUtil.format("修改用户密码 [{}]", username));
   }
@@ -182,49 +214,69 @@ public class UserService {
 
     // 删除用户数据
     userMapper.deleteByUserId(userId);
+    resourceVersions.bump(RESOURCE);
+    evictUserSnapshot(username);
+
+    // 吊销已登录的 Token
+    eventPublisher.publishEvent(new UserAuthorizationChangedEvent(username, UserAuthorizationChangedEvent.ChangeType.DELETED, null));
 
     return new SimpleResultOfWriteOperation(StrUtil.format("删除用户 [{}]", username));
   }
 
   /**
-   * 获取用户数据，若用户不存在则抛出异常。
+   * 获取用户快照，若用户不存在则抛出异常。
+   *
+   * <p>
+   * 优先读取本地缓存，未命中时才查询数据库并写入缓存；用户数据变更时由本类使缓存失效。
+   * </p>
    *
    * @param username 用户名
-   * @return 指定用户名的用户数据
+   * @return 指定用户名的用户快照
    * @throws NotFoundException 当数据库中找不到指定用户名时抛出
    */
-  public User getUserFromDatabaseMustBeExists(String username) throws NotFoundException {
-    return Optional.ofNullable(userMapper.findByUsername(username))
+  public UserSnapshot getUserSnapshotMustBeExists(String username) throws NotFoundException {
+    return Optional.ofNullable(userSnapshotCache.get(username, this::loadUserSnapshot))
       .orElseThrow(() -> new NotFoundException(StrUtil.format("未找到用户 [{}]", username)));
   }
 
-  /**
-   * 校验并去重菜单编号字符串。
-   *
-   * @param commaSeparatedMenus 以英文逗号分隔的菜单编号字符串
-   * @return 以英文逗号分隔的菜单编号字符串的 {@link Optional} 包装对象
-   */
-  public Optional<String> toDeduplicatedCommaSeparatedMenus(String commaSeparatedMenus) {
-    return Optional.ofNullable(StrUtil.trimToNull(commaSeparatedMenus))
-      .flatMap(m -> {
-        String[] menus = StrSplitter.splitToArray(m, ',', 0, true, true);
+  private User getUserFromDatabaseMustBeExists(int userId) {
+    return Optional.ofNullable(userMapper.findByUserId(userId))
+      .orElseThrow(() -> new NotFoundException(StrUtil.format("未找到用户 [userId={}]", userId)));
+  }
 
-        if (menus.length == 0) return Optional.empty();
+  private UserSnapshot loadUserSnapshot(String username) {
+    return Optional.ofNullable(userMapper.findByUsername(username))
+      .map(UserSnapshot::of)
+      .orElse(null);
+  }
 
-        boolean hasAnyInvalidMenu = Arrays.stream(menus)
-          .anyMatch(menu -> RoleOfMenu.resolve(menu).isEmpty());
+  private void evictUserSnapshot(String username) {
+    // 事务提交前其他线程仍可能读到旧数据并回填缓存，故提交后需再次失效
+    userSnapshotCache.invalidate(username);
+    afterCommit(() -> userSnapshotCache.invalidate(username));
+  }
 
-        if (hasAnyInvalidMenu) throw new BadRequestException("包含非法菜单编号");
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
 
-        return Optional.of(Arrays.stream(menus)
-          .distinct()
-          .collect(Collectors.joining(",")));
-      });
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
   }
 
-  private User getUserFromDatabaseMustBeExists(int userId) {
-    return Optional.ofNullable(userMapper.findByUserId(userId))
-      .orElseThrow(() -> new NotFoundException(StrUtil.format("未找到用户 [userId={}]", userId)));
+  private Optional<UserAuthorizationChangedEvent> toAuthorizationChangedEvent(String username, User updatedUser) {
+    if (updatedUser.getEnabled() == YesOrNo.NO) {
+      return Optional.of(new UserAuthorizationChangedEvent(username, UserAuthorizationChangedEvent.ChangeType.DISABLED, null));
+    }
+
+    if (updatedUser.getMenus() != null) {
+      return Optional.of(new UserAuthorizationChangedEvent(username, UserAuthorizationChangedEvent.ChangeType.MENUS_CHANGED, updatedUser.getMenus()));
+    }
+
+    return Optional.empty();
   }
 
   private Optional<User> getUserToUpdate(User oldUser, RequestOfUpdateUser query) {
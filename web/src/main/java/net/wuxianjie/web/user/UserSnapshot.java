@@ -0,0 +1,80 @@
+package net.wuxianjie.web.user;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import net.wuxianjie.springbootcore.mybatis.YesOrNo;
+import net.wuxianjie.springbootcore.security.AuthenticationUtils;
+import net.wuxianjie.web.security.RoleOfMenu;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * 用户及其权限的不可变快照，用于登录及刷新 Token 时免去查询数据库与解析菜单编号字符串。
+ *
+ * @author 吴仙杰
+ * @see UserCacheConfig#userSnapshotCache()
+ */
+@Getter
+@ToString(exclude = "hashedPassword")
+@RequiredArgsConstructor
+public class UserSnapshot {
+
+  /**
+   * 用户 id。
+   */
+  private final Integer userId;
+
+  /**
+   * 用户名。
+   */
+  private final String username;
+
+  /**
+   * 启用状态。
+   */
+  private final YesOrNo enabled;
+
+  /**
+   * 哈希密码。
+   */
+  private final String hashedPassword;
+
+  /**
+   * 用户绑定的菜单编号，多个菜单编号以英文逗号分隔。
+   *
+   * @see RoleOfMenu#value()
+   */
+  private final String menus;
+
+  /**
+   * 由菜单编号预先构建的 Spring Security 权限列表，不可变。
+   */
+  private final List<GrantedAuthority> authorities;
+
+  /**
+   * 由菜单编号预先计算的有效权限位掩码。
+   *
+   * @see RoleOfMenu#toEffectiveMask(String)
+   */
+  private final long menuMask;
+
+  /**
+   * 由用户表数据构建快照。
+   *
+   * @param user 用户表数据
+   * @return 用户快照
+   */
+  public static UserSnapshot of(User user) {
+    return new UserSnapshot(
+      user.getUserId(),
+      user.getUsername(),
+      user.getEnabled(),
+      user.getHashedPassword(),
+      user.getMenus(),
+      AuthenticationUtils.toAuthorities(user.getMenus()),
+      RoleOfMenu.toEffectiveMask(user.getMenus())
+    );
+  }
+}
@@ -0,0 +1,60 @@
+-- 用户表
+CREATE TABLE IF NOT EXISTS users
+(
+  user_id         INTEGER NOT NULL
+    PRIMARY KEY AUTOINCREMENT,
+  create_time     DATE,
+  modify_time     DATE,
+  is_enabled      INTEGER,
+  username        TEXT,
+  hashed_password TEXT,
+  menus           TEXT
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS name
+  ON users (username);
+
+-- 角色表
+CREATE TABLE IF NOT EXISTS roles
+(
+  role_id   INTEGER NOT NULL
+    PRIMARY KEY AUTOINCREMENT,
+  role_name TEXT,
+  menus     TEXT
+);
+
+-- 操作日志表
+CREATE TABLE IF NOT EXISTS operation_logs
+(
+  log_id         INTEGER NOT NULL
+    PRIMARY KEY AUTOINCREMENT,
+  operation_time DATE,
+  user_id        INTEGER,
+  username       TEXT,
+  request_ip     TEXT,
+  request_uri    TEXT,
+  method_name    TEXT,
+  method_message TEXT,
+  parameter_json TEXT,
+  return_json    TEXT
+);
+
+-- 登录日志表
+CREATE TABLE IF NOT EXISTS login_logs
+(
+  log_id     INTEGER NOT NULL
+    PRIMARY KEY AUTOINCREMENT,
+  login_time DATE,
+  user_id    INTEGER,
+  username   TEXT,
+  request_ip TEXT
+);
+
+-- 初始账号，已存在时跳过
+INSERT OR IGNORE INTO users (create_time, modify_time, is_enabled, username, hashed_password, menus)
+VALUES (STRFTIME('%Y-%m-%d %H:%M:%S', 'now', 'localtime'),
+        STRFTIME('%Y-%m-%d %H:%M:%S', 'now', 'localtime'),
+        1,
+        'su',
+        '$2a$10$x3Kdm7XIlhnERdj3NJa9Qe.hPHewCI7TbEDMSkI3aOqWL/IEL5coe',
+        'root');
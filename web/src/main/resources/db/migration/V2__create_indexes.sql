@@ -0,0 +1,14 @@
+-- 日志列表按时间范围过滤，并按 (时间, 日志 ID) 倒序分页
+CREATE INDEX IF NOT EXISTS idx_operation_logs_operation_time
+  ON operation_logs (operation_time, log_id);
+
+CREATE INDEX IF NOT EXISTS idx_login_logs_login_time
+  ON login_logs (login_time, log_id);
+
+-- 用户列表按修改时间倒序分页
+CREATE INDEX IF NOT EXISTS idx_users_modify_time
+  ON users (modify_time);
+
+-- 新增及修改角色时检查角色名是否已存在
+CREATE INDEX IF NOT EXISTS idx_roles_role_name
+  ON roles (role_name);
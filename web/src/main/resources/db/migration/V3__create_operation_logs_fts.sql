@@ -0,0 +1,43 @@
+-- 操作日志全文检索索引：trigram 分词器支持任意位置的子串匹配（至少 3 个字符），可替代 LIKE '%x%' 全表扫描
+CREATE VIRTUAL TABLE IF NOT EXISTS operation_logs_fts USING fts5
+(
+  method_message,
+  parameter_json,
+  return_json,
+  username,
+  request_uri,
+  content = 'operation_logs',
+  content_rowid = 'log_id',
+  tokenize = 'trigram'
+);
+
+-- 通过触发器与操作日志表保持同步
+CREATE TRIGGER IF NOT EXISTS operation_logs_fts_after_insert
+  AFTER INSERT
+  ON operation_logs
+BEGIN
+  INSERT INTO operation_logs_fts (rowid, method_message, parameter_json, return_json, username, request_uri)
+  VALUES (new.log_id, new.method_message, new.parameter_json, new.return_json, new.username, new.request_uri);
+END;
+
+CREATE TRIGGER IF NOT EXISTS operation_logs_fts_after_delete
+  AFTER DELETE
+  ON operation_logs
+BEGIN
+  INSERT INTO operation_logs_fts (operation_logs_fts, rowid, method_message, parameter_json, return_json, username, request_uri)
+  VALUES ('delete', old.log_id, old.method_message, old.parameter_json, old.return_json, old.username, old.request_uri);
+END;
+
+CREATE TRIGGER IF NOT EXISTS operation_logs_fts_after_update
+  AFTER UPDATE
+  ON operation_logs
+BEGIN
+  INSERT INTO operation_logs_fts (operation_logs_fts, rowid, method_message, parameter_json, return_json, username, request_uri)
+  VALUES ('delete', old.log_id, old.method_message, old.parameter_json, old.return_json, old.username, old.request_uri);
+  INSERT INTO operation_logs_fts (rowid, method_message, parameter_json, return_json, username, request_uri)
+  VALUES (new.log_id, new.method_message, new.parameter_json, new.return_json, new.username, new.request_uri);
+END;
+
+-- 为已有数据建立索引
+INSERT INTO operation_logs_fts (operation_logs_fts)
+VALUES ('rebuild');
@@ -0,0 +1,15 @@
+-- 已登录用户的 Token（web.token-store.type 为 sqlite 时使用），每个用户仅保留最近一次登录的 Token
+CREATE TABLE IF NOT EXISTS token_sessions
+(
+  username      TEXT    NOT NULL
+    PRIMARY KEY,
+  user_id       INTEGER,
+  roles         TEXT,
+  access_token  TEXT    NOT NULL,
+  refresh_token TEXT    NOT NULL,
+  -- 过期时间，即 Unix 时间戳，单位毫秒
+  expires_at    INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_token_sessions_expires_at
+  ON token_sessions (expires_at);
@@ -0,0 +1,7 @@
+-- 资源的版本号，用于计算条件请求的 ETag，与资源数据在同一事务中递增，故共享数据库的多个实例看到的版本号一致
+CREATE TABLE IF NOT EXISTS resource_versions
+(
+  resource TEXT    NOT NULL
+    PRIMARY KEY,
+  version  INTEGER NOT NULL
+) WITHOUT ROWID;
@@ -0,0 +1,11 @@
+-- 角色名唯一：仅在应用中检查无法避免并发新增或修改时写入重复的角色名，故由唯一索引保证
+-- 已存在的重复角色名，除 role_id 最小者外均追加 _{role_id} 后缀
+UPDATE roles
+SET role_name = role_name || '_' || role_id
+WHERE role_name IS NOT NULL
+  AND role_id NOT IN (SELECT MIN(role_id) FROM roles WHERE role_name IS NOT NULL GROUP BY role_name);
+
+DROP INDEX IF EXISTS idx_roles_role_name;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_roles_role_name
+  ON roles (role_name);
@@ -0,0 +1,4 @@
+-- 用户列表按是否启用过滤时，先按 is_enabled 定位（SEARCH），再按修改时间倒序分页而无需临时排序；
+-- 计数时索引已包含所需的列，无需回表。用户名的 LIKE 子串匹配无法使用索引，只能在 is_enabled 定位到的范围内逐条过滤
+CREATE INDEX IF NOT EXISTS idx_users_is_enabled_modify_time
+  ON users (is_enabled, modify_time, username);
@@ -0,0 +1,212 @@
+package net.wuxianjie.web;
+
+import net.wuxianjie.springbootcore.mybatis.YesOrNo;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.executor.keygen.SelectKeyGenerator;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 通过 {@code EXPLAIN QUERY PLAN} 检查 {@code mapper/*.xml} 中的每条语句均通过索引定位（{@code SEARCH}），而非全表扫描。
+ *
+ * <p>
+ * 数据库由 Flyway 迁移脚本创建。每条语句分别以「所有可选条件均存在」和「所有可选条件均不存在」两组参数生成 SQL，
+ * 日志分区表与主表的结构及索引相同，故 {@code ${table}} 统一使用主表。
+ * </p>
+ *
+ * @author 吴仙杰
+ */
+class MapperQueryPlanTest {
+
+  /**
+   * 有意读取整张表的语句，不做检查：{语句 id : 原因}。
+   */
+  private static final Map<String, String> FULL_SCAN_STATEMENTS = Map.ofEntries(
+    Map.entry("net.wuxianjie.web.role.RoleMapper.findAll",
+      "角色表很小，RoleRepository 将整张表加载为内存快照"),
+    Map.entry("net.wuxianjie.web.shared.ResourceVersionMapper.findAll",
+      "每种资源一行，SqliteResourceVersions 定时读取全部版本号")
+  );
+
+  /**
+   * 不带任何条件时只能扫描的语句，仅检查「所有条件」的参数：{语句 id : 原因}。
+   */
+  private static final Map<String, String> UNFILTERED_SCAN_STATEMENTS = Map.ofEntries(
+    Map.entry("net.wuxianjie.web.loginlog.LoginLogMapper.findByLoginTimeBetweenAndUsernameLikeAndRequestIpLikeOrderByLoginTimeDesc",
+      "无条件分页按时间索引倒序读取，读到 offset + limit 条即停止"),
+    Map.entry("net.wuxianjie.web.loginlog.LoginLogMapper.findByCursorAndLoginTimeBetweenAndUsernameLikeAndRequestIpLikeOrderByLoginTimeDesc",
+      "无条件的首页按时间索引倒序读取，读到 limit 条即停止"),
+    Map.entry("net.wuxianjie.web.loginlog.LoginLogMapper.countByLoginTimeBetweenAndUsernameLikeAndRequestIpLike",
+      "无条件计数需统计每一行，已读取较窄的时间索引"),
+    Map.entry("net.wuxianjie.web.loginlog.LoginLogMapper.findAllByLoginTimeBetweenAndUsernameLikeAndRequestIpLikeOrderByLoginTimeDesc",
+      "无条件导出即读取所有日志"),
+    Map.entry("net.wuxianjie.web.operationlog.OperationLogMapper.findByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLikeOrderByOpTimeDesc",
+      "无条件分页按时间索引倒序读取，读到 offset + limit 条即停止"),
+    Map.entry("net.wuxianjie.web.operationlog.OperationLogMapper.findByCursorAndOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLikeOrderByOpTimeDesc",
+      "无条件的首页按时间索引倒序读取，读到 limit 条即停止"),
+    Map.entry("net.wuxianjie.web.operationlog.OperationLogMapper.countByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLike",
+      "无条件计数需统计每一行，已读取较窄的时间索引"),
+    Map.entry("net.wuxianjie.web.operationlog.OperationLogMapper.findAllByOperationTimeBetweenAndUsernameLikeAndRequestIpLikeAndMethodMessageLikeOrderByOpTimeDesc",
+      "无条件导出即读取所有日志"),
+    Map.entry("net.wuxianjie.web.user.UserMapper.findByUsernameLikeAndEnabledOrderByModifyTimeDesc",
+      "无条件分页按修改时间索引倒序读取，读到 offset + limit 条即停止"),
+    Map.entry("net.wuxianjie.web.user.UserMapper.countByUsernameLikeAndEnabled",
+      "无条件计数需统计每一行，已读取较窄的修改时间索引")
+  );
+
+  /**
+   * 全表扫描：以 {@code SCAN} 读取表，包括按索引顺序读取整个索引（{@code USING INDEX} 或 {@code USING COVERING INDEX}），
+   * 子查询、常量行及 FTS5 全文索引（{@code VIRTUAL TABLE INDEX}）除外。
+   */
+  private static final Pattern FULL_SCAN = Pattern.compile(
+    "^SCAN (?!\\(subquery-|SUBQUERY |CONSTANT ROW)(?!.*\\bVIRTUAL TABLE INDEX\\b).*");
+
+  @TempDir
+  static Path tempDir;
+
+  private static Connection connection;
+  private static Configuration configuration;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    String url = "jdbc:sqlite:" + tempDir.resolve("app.db");
+    Flyway.configure()
+      .dataSource(url, null, null)
+      .locations("classpath:db/migration")
+      .load()
+      .migrate();
+    connection = DriverManager.getConnection(url);
+
+    configuration = new Configuration();
+    configuration.getTypeHandlerRegistry().register("net.wuxianjie.springbootcore.mybatis");
+    for (Resource mapper : new PathMatchingResourcePatternResolver().getResources("classpath:mapper/*.xml")) {
+      try (InputStream in = mapper.getInputStream()) {
+        new XMLMapperBuilder(in, configuration, mapper.getURL().toString(), configuration.getSqlFragments()).parse();
+      }
+    }
+  }
+
+  @AfterAll
+  static void tearDown() throws Exception {
+    if (connection != null) connection.close();
+  }
+
+  @TestFactory
+  Stream<DynamicTest> everyStatementUsesAnIndex() {
+    // 同名语句以简称注册时会产生歧义对象，故仅使用全限定名获取语句
+    List<MappedStatement> statements = configuration.getMappedStatementNames().stream()
+      .filter(id -> id.contains("."))
+      .filter(id -> !id.endsWith(SelectKeyGenerator.SELECT_KEY_SUFFIX))
+      .sorted()
+      .map(configuration::getMappedStatement)
+      .collect(Collectors.toList());
+    assertThat(statements).isNotEmpty();
+
+    return statements.stream()
+      .filter(ms -> !FULL_SCAN_STATEMENTS.containsKey(ms.getId()))
+      .flatMap(ms -> {
+        DynamicTest withConditions = DynamicTest.dynamicTest(ms.getId() + " [所有条件]",
+          () -> assertUsesIndex(ms, createParameters(ms, true)));
+        if (UNFILTERED_SCAN_STATEMENTS.containsKey(ms.getId())) return Stream.of(withConditions);
+
+        return Stream.of(withConditions, DynamicTest.dynamicTest(ms.getId() + " [无条件]",
+          () -> assertUsesIndex(ms, createParameters(ms, false))));
+      });
+  }
+
+  private static void assertUsesIndex(MappedStatement ms, Map<String, Object> parameters) throws Exception {
+    BoundSql boundSql = ms.getBoundSql(parameters);
+    List<String> plan = new ArrayList<>();
+    try (PreparedStatement ps = connection.prepareStatement("EXPLAIN QUERY PLAN " + boundSql.getSql())) {
+      new DefaultParameterHandler(ms, parameters, boundSql).setParameters(ps);
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) plan.add(rs.getString("detail"));
+      }
+    }
+
+    assertThat(plan)
+      .as("%s%n%s", boundSql.getSql(), String.join(System.lineSeparator(), plan))
+      .noneMatch(detail -> FULL_SCAN.matcher(detail).matches());
+  }
+
+  private static Map<String, Object> createParameters(MappedStatement ms, boolean withConditions) {
+    String logTable = ms.getId().startsWith("net.wuxianjie.web.loginlog.") ? "login_logs" : "operation_logs";
+    LocalDateTime now = LocalDateTime.of(2022, 3, 1, 12, 0);
+
+    // 日志查询条件
+    Map<String, Object> query = new HashMap<>();
+    if (withConditions) {
+      query.put("startTimeInclusive", now.minusDays(7));
+      query.put("endTimeInclusive", now);
+      query.put("username", "%su%");
+      query.put("requestIp", "%127.0.0.1%");
+      query.put("methodMessage", "%用户%");
+      query.put("keyword", "%用户%");
+      query.put("fullTextQuery", "\"用户名\"");
+      query.put("enabled", YesOrNo.YES);
+    }
+
+    // 分页参数
+    Map<String, Object> paging = new HashMap<>();
+    paging.put("offset", 0);
+    paging.put("limit", 10);
+    if (withConditions) {
+      paging.put("cursorTime", now);
+      paging.put("cursorId", 100L);
+    }
+
+    // 写入的数据
+    Map<String, Object> row = new HashMap<>();
+    row.put("logId", 1L);
+    row.put("operationTime", now);
+    row.put("loginTime", now);
+    row.put("userId", 1);
+    row.put("username", "su");
+    row.put("requestIp", "127.0.0.1");
+
+    Map<String, Object> parameters = new HashMap<>(row);
+    parameters.put("q", query);
+    parameters.put("p", paging);
+    parameters.put("u", row);
+    parameters.put("logs", List.of(row));
+    parameters.put("tables", List.of(logTable));
+    parameters.put("table", logTable);
+    parameters.put("isSu", !withConditions);
+    parameters.put("roleId", 1);
+    parameters.put("roleName", "role");
+    parameters.put("menus", "root");
+    parameters.put("enabled", YesOrNo.YES);
+    parameters.put("hashedPassword", "hashed");
+    parameters.put("resource", "roles");
+    parameters.put("nowMillis", 0L);
+    parameters.put("expiresAtMillis", 0L);
+    return parameters;
+  }
+}